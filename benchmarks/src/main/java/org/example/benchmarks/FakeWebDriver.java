@@ -0,0 +1,126 @@
+package org.example.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * WebDriver en memoria para los benchmarks: devuelve elementos y resultados de script preparados
+ * Sin navegador ni red, lo que se mide es únicamente el coste propio del framework
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    private final Map<String, WebElement> elements = new HashMap<>();
+    private Object scriptResult;
+
+    /**
+     * Registra un elemento visible con el texto indicado
+     * @param by localizador con el que lo buscan las páginas
+     * @param text texto que devuelve getText()
+     * @return este driver, para encadenar
+     */
+    public FakeWebDriver withElement(By by, String text) {
+        elements.put(by.toString(), new FakeWebElement(text));
+        return this;
+    }
+
+    /**
+     * Fija el valor que devuelve cualquier executeScript
+     * @param result resultado tal como lo devolvería Selenium (Map, List, String, Long...)
+     * @return este driver, para encadenar
+     */
+    public FakeWebDriver withScriptResult(Object result) {
+        this.scriptResult = result;
+        return this;
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        WebElement element = elements.get(by.toString());
+        if (element == null) {
+            throw new NoSuchElementException("No fake element registered for " + by);
+        }
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        WebElement element = elements.get(by.toString());
+        return element == null ? Collections.emptyList() : Collections.singletonList(element);
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return scriptResult;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return scriptResult;
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "fake-window";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo is not supported by FakeWebDriver");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate is not supported by FakeWebDriver");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("manage is not supported by FakeWebDriver");
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebDriver";
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.benchmarks;
+
+import org.example.utils.LocatorManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de resolver localizadores: búsqueda en LocatorManager y construcción del By que hacen las páginas en cada paso
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocatorBenchmark {
+
+    private static final String[] KEYS = {
+        "homepage.categories.phones",
+        "homepage.products.links",
+        "cartpage.product.names",
+        "cartpage.total.price",
+        "productpage.addtocart.button",
+        "checkoutpage.name.field",
+        "checkoutpage.purchase.button",
+        "checkoutpage.close.button"
+    };
+
+    private int next;
+
+    @Benchmark
+    public String getLocator() {
+        return LocatorManager.getLocator(nextKey());
+    }
+
+    @Benchmark
+    public String getLocatorByNamedAccessor() {
+        return LocatorManager.getCartpageProductNames();
+    }
+
+    @Benchmark
+    public By cssSelectorConstruction() {
+        return By.cssSelector(LocatorManager.getLocator(nextKey()));
+    }
+
+    @Benchmark
+    public By idConstruction() {
+        return By.id(LocatorManager.getCartpageTotalPrice());
+    }
+
+    private String nextKey() {
+        next = (next + 1) & (KEYS.length - 1);
+        return KEYS[next];
+    }
+}
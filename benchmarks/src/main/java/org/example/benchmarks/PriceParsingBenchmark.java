@@ -0,0 +1,138 @@
+package org.example.benchmarks;
+
+import org.example.pages.CartPage;
+import org.example.pages.CheckoutPage;
+import org.example.pages.ProductPage;
+import org.example.pages.PurchaseConfirmation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de interpretar precios e importes en las páginas, con el navegador sustituido por FakeWebDriver
+ * Con -prof gc se obtiene además la asignación de memoria por operación
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceParsingBenchmark {
+
+    static final String PRODUCT_PRICE_TEXT = "$360 *includes tax";
+    static final String CONFIRMATION_TITLE = "Thank you for your purchase!";
+    static final String CONFIRMATION_TEXT =
+        "Id: 9140731\nAmount: 790 USD\nCard Number: 4532015112830366\nName: María Elena Rodríguez\nDate: 18/9/2025";
+
+    // Carrito con el número de filas indicado, leído por CartPage en un único executeScript
+    @State(Scope.Thread)
+    public static class CartState {
+
+        @Param({"2", "100", "1000"})
+        public int rows;
+
+        CartPage cartPage;
+
+        @Setup
+        public void setUp() {
+            List<Map<String, Object>> cartRows = new ArrayList<>();
+            long total = 0;
+            for (int i = 0; i < rows; i++) {
+                long price = 360 + (i % 7) * 110;
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("name", "Product " + i);
+                row.put("price", String.valueOf(price));
+                row.put("deleteId", "item-" + i);
+                cartRows.add(row);
+                total += price;
+            }
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("rows", cartRows);
+            snapshot.put("total", String.valueOf(total));
+            cartPage = new CartPage(new FakeWebDriver().withScriptResult(snapshot));
+        }
+    }
+
+    // Página de producto con el texto real que muestra Demoblaze
+    @State(Scope.Thread)
+    public static class PagesState {
+
+        ProductPage productPage;
+
+        @Setup
+        public void setUp() {
+            productPage = new ProductPage(new FakeWebDriver()
+                .withElement(By.cssSelector("h3.price-container"), PRODUCT_PRICE_TEXT));
+        }
+    }
+
+    // Página de compra cuyo script de confirmación devuelve el modal real. CheckoutPage guarda la confirmación
+    // leída, así que cada operación crea su página (sin @Setup(Level.Invocation), cuyo coste por llamada falsea
+    // operaciones de nanosegundos); checkoutCreatePage mide esa creación por separado para poder descontarla
+    @State(Scope.Thread)
+    public static class CheckoutState {
+
+        FakeWebDriver driver;
+
+        @Setup
+        public void createDriver() {
+            driver = new FakeWebDriver().withScriptResult(Map.of("title", CONFIRMATION_TITLE, "message", CONFIRMATION_TEXT));
+        }
+    }
+
+    @Benchmark
+    public double cartCalculateExpectedTotal(CartState state) {
+        return state.cartPage.calculateExpectedTotal();
+    }
+
+    @Benchmark
+    public boolean cartIsTotalPriceCorrect(CartState state) {
+        return state.cartPage.isTotalPriceCorrect();
+    }
+
+    @Benchmark
+    public double productGetPriceAsNumber(PagesState state) {
+        return state.productPage.getProductPriceAsNumber();
+    }
+
+    @Benchmark
+    public CheckoutPage checkoutCreatePage(CheckoutState state) {
+        return new CheckoutPage(state.driver);
+    }
+
+    @Benchmark
+    public String checkoutGetTransactionId(CheckoutState state) {
+        return new CheckoutPage(state.driver).getTransactionId();
+    }
+
+    @Benchmark
+    public double checkoutGetPurchaseAmount(CheckoutState state) {
+        return new CheckoutPage(state.driver).getPurchaseAmount();
+    }
+
+    // Solo el análisis del mensaje, sin la página ni la espera
+    @Benchmark
+    public String confirmationParseTransactionId() {
+        return new PurchaseConfirmation(CONFIRMATION_TITLE, CONFIRMATION_TEXT).getTransactionId();
+    }
+
+    @Benchmark
+    public long confirmationParseAmount() {
+        return new PurchaseConfirmation(CONFIRMATION_TITLE, CONFIRMATION_TEXT).getAmountMinorUnits();
+    }
+}
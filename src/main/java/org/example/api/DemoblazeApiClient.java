@@ -0,0 +1,275 @@
+package org.example.api;
+
+import org.example.config.TestConfiguration;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Cliente del API REST que usa el propio sitio de Demoblaze
+ * Permite preparar y consultar el carrito sin pasar por la interfaz de usuario
+ */
+public class DemoblazeApiClient {
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(TestConfiguration.Timeouts.DEFAULT_WAIT))
+            .build();
+    private static final Json JSON = new Json();
+
+    private final String apiUrl;
+
+    public DemoblazeApiClient() {
+        this(TestConfiguration.getApiUrl());
+    }
+
+    public DemoblazeApiClient(String apiUrl) {
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl : apiUrl + "/";
+    }
+
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * Agrega un producto al carrito asociado a la cookie de sesión
+     * @param sessionCookie valor de la cookie "user" del navegador
+     * @param productId id del producto en el catálogo
+     * @return id de la entrada creada en el carrito
+     */
+    public String addToCart(String sessionCookie, int productId) {
+        return await(addToCartAsync(sessionCookie, productId), "addtocart");
+    }
+
+    /**
+     * Agrega varios productos al carrito en paralelo
+     * @param sessionCookie valor de la cookie "user" del navegador
+     * @param productIds ids de los productos en el catálogo
+     * @return ids de las entradas creadas, en el mismo orden que los productos
+     */
+    public List<String> addAllToCart(String sessionCookie, int... productIds) {
+        List<CompletableFuture<String>> additions = new ArrayList<>();
+        for (int productId : productIds) {
+            additions.add(addToCartAsync(sessionCookie, productId));
+        }
+        await(CompletableFuture.allOf(additions.toArray(CompletableFuture[]::new)), "addtocart");
+        List<String> itemIds = new ArrayList<>();
+        for (CompletableFuture<String> addition : additions) {
+            itemIds.add(addition.join());
+        }
+        return itemIds;
+    }
+
+    public CompletableFuture<String> addToCartAsync(String sessionCookie, int productId) {
+        String itemId = UUID.randomUUID().toString();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", itemId);
+        body.put("cookie", sessionCookie);
+        body.put("prod_id", productId);
+        body.put("flag", false);
+        return postAsync("addtocart", body).thenApply(response -> itemId);
+    }
+
+    /**
+     * Consulta las entradas del carrito asociadas a la cookie de sesión
+     * @param sessionCookie valor de la cookie "user" del navegador
+     * @return entradas del carrito
+     */
+    public List<CartItem> viewCart(String sessionCookie) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("cookie", sessionCookie);
+        body.put("flag", false);
+        List<CartItem> items = new ArrayList<>();
+        for (Map<String, Object> item : readItems(post("viewcart", body))) {
+            items.add(new CartItem(String.valueOf(item.get("id")),
+                ((Number) item.get("prod_id")).intValue(),
+                String.valueOf(item.get("cookie"))));
+        }
+        return items;
+    }
+
+    /**
+     * Elimina una entrada del carrito
+     * @param itemId id de la entrada devuelto por addToCart o viewCart
+     */
+    public void deleteItem(String itemId) {
+        await(deleteItemAsync(itemId), "deleteitem");
+    }
+
+    public CompletableFuture<Void> deleteItemAsync(String itemId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", itemId);
+        return postAsync("deleteitem", body).thenApply(response -> null);
+    }
+
+    /**
+     * Elimina varias entradas del carrito en paralelo
+     * @param itemIds ids de las entradas a eliminar
+     */
+    public void deleteItems(Collection<String> itemIds) {
+        await(CompletableFuture.allOf(itemIds.stream()
+                .map(this::deleteItemAsync)
+                .toArray(CompletableFuture[]::new)), "deleteitem");
+    }
+
+    /**
+     * Vacía el carrito de la sesión (es lo que hace el sitio al confirmar la compra)
+     * @param sessionCookie valor de la cookie "user" del navegador
+     */
+    public void deleteCart(String sessionCookie) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("cookie", sessionCookie);
+        post("deletecart", body);
+    }
+
+    /**
+     * Obtiene la primera página del catálogo, tal como la carga la página de inicio
+     * @return productos listados en la página de inicio
+     */
+    public List<Product> entries() {
+        List<Product> products = new ArrayList<>();
+        String response = await(sendAsync("entries", HttpRequest.newBuilder(URI.create(apiUrl + "entries")).GET()), "entries");
+        for (Map<String, Object> item : readItems(response)) {
+            products.add(toProduct(item));
+        }
+        return products;
+    }
+
+    /**
+     * Obtiene el detalle de un producto del catálogo
+     * @param productId id del producto
+     * @return producto
+     */
+    public Product viewProduct(int productId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", String.valueOf(productId));
+        return toProduct(JSON.toType(post("view", body), Json.MAP_TYPE));
+    }
+
+    /**
+     * Obtiene los productos de una categoría (phone, notebook, monitor)
+     * @param category categoría tal como la usa el sitio
+     * @return productos de la categoría
+     */
+    public List<Product> productsByCategory(String category) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("cat", category);
+        List<Product> products = new ArrayList<>();
+        for (Map<String, Object> item : readItems(post("bycat", body))) {
+            products.add(toProduct(item));
+        }
+        return products;
+    }
+
+    private String post(String endpoint, Map<String, Object> body) {
+        return await(postAsync(endpoint, body), endpoint);
+    }
+
+    private static <T> T await(CompletableFuture<T> future, String endpoint) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            while (cause.getCause() != null && cause instanceof RuntimeException) {
+                cause = cause.getCause();
+            }
+            throw new RuntimeException("Error calling /" + endpoint + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    private CompletableFuture<String> postAsync(String endpoint, Map<String, Object> body) {
+        return sendAsync(endpoint, HttpRequest.newBuilder(URI.create(apiUrl + endpoint))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.toJson(body))));
+    }
+
+    private CompletableFuture<String> sendAsync(String endpoint, HttpRequest.Builder requestBuilder) {
+        HttpRequest request = requestBuilder
+                .timeout(Duration.ofSeconds(TestConfiguration.Timeouts.DEFAULT_WAIT))
+                .build();
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new RuntimeException(new IOException(
+                            "HTTP " + response.statusCode() + " from /" + endpoint));
+                    }
+                    return response.body();
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> readItems(String responseBody) {
+        if (responseBody == null || responseBody.isBlank()) {
+            return List.of();
+        }
+        Map<String, Object> response = JSON.toType(responseBody, Json.MAP_TYPE);
+        Object items = response.get("Items");
+        return items == null ? List.of() : (List<Map<String, Object>>) items;
+    }
+
+    private static Product toProduct(Map<String, Object> item) {
+        return new Product(((Number) item.get("id")).intValue(),
+            String.valueOf(item.get("title")),
+            String.valueOf(item.get("cat")),
+            ((Number) item.get("price")).doubleValue());
+    }
+
+    // Entrada del carrito tal como la devuelve /viewcart
+    public static class CartItem {
+        private final String id;
+        private final int productId;
+        private final String cookie;
+
+        public CartItem(String id, int productId, String cookie) {
+            this.id = id;
+            this.productId = productId;
+            this.cookie = cookie;
+        }
+
+        public String getId() { return id; }
+        public int getProductId() { return productId; }
+        public String getCookie() { return cookie; }
+
+        @Override
+        public String toString() {
+            return String.format("CartItem{id='%s', productId=%d}", id, productId);
+        }
+    }
+
+    // Producto del catálogo tal como lo devuelven /view y /bycat
+    public static class Product {
+        private final int id;
+        private final String title;
+        private final String category;
+        private final double price;
+
+        public Product(int id, String title, String category, double price) {
+            this.id = id;
+            this.title = title;
+            this.category = category;
+            this.price = price;
+        }
+
+        public int getId() { return id; }
+        public String getTitle() { return title; }
+        public String getCategory() { return category; }
+        public double getPrice() { return price; }
+
+        @Override
+        public String toString() {
+            return String.format("Product{id=%d, title='%s', price=%.2f}", id, title, price);
+        }
+    }
+}
@@ -11,6 +11,19 @@ public class TestConfiguration {
         public static final String BASE_URL = "https://www.demoblaze.com/";
         public static final String HOME_PAGE = BASE_URL;
         public static final String CART_PAGE = BASE_URL + "cart.html";
+        // Página de producto relativa a la URL base; se completa con el id del producto
+        public static final String PRODUCT_PAGE_PATH = "prod.html?idp_=";
+        public static final String API_URL = "https://api.demoblaze.com/";
+    }
+    
+    // ===== SERVIDOR LOCAL (STUB) DE DEMOBLAZE =====
+    public static class StubServer {
+        // -Dstub.server=true arranca el sitio local y apunta base.url/api.url a localhost
+        public static final String ENABLED_PROPERTY = "stub.server";
+        public static final String PORT_PROPERTY = "stub.port";
+        public static final String LATENCY_PROPERTY = "stub.latency.ms";
+        public static final int DEFAULT_PORT = 0;
+        public static final long DEFAULT_LATENCY_MS = 0;
     }
     
     // ===== CONFIGURACIÓN DE TIMEOUTS =====
@@ -20,6 +33,10 @@ public class TestConfiguration {
         public static final int SHORT_WAIT = 5;
         public static final int IMPLICIT_WAIT = 10;
         public static final int PAGE_LOAD_TIMEOUT = 30;
+        // Sondeo del WaitEngine: empieza rápido y se espacia hasta el máximo
+        public static final long POLL_INITIAL_MILLIS = 10;
+        public static final long POLL_MAX_MILLIS = 100;
+        public static final double POLL_BACKOFF_FACTOR = 1.5;
     }
     
     // ===== CONFIGURACIÓN DEL NAVEGADOR =====
@@ -32,6 +49,134 @@ public class TestConfiguration {
         public static final String CHROME_OPTIONS = "--start-maximized";
         public static final String FIREFOX_OPTIONS = "--start-maximized";
         public static final String EDGE_OPTIONS = "--start-maximized";
+        
+        // Estrategia de carga: normal (todos los subrecursos), eager (DOM listo) o none;
+        // con eager/none cada página espera su propio contrato de disponibilidad
+        public static final String PAGE_LOAD_STRATEGY_PROPERTY = "page.load.strategy";
+        public static final String DEFAULT_PAGE_LOAD_STRATEGY = "normal";
+        
+        // Perfil de lanzamiento: local (ventana maximizada) o ci (headless para contenedores Linux)
+        public static final String PROFILE_PROPERTY = "browser.profile";
+        public static final String DEFAULT_PROFILE = "local";
+        public static final String CI_WINDOW_SIZE = "1920,1080";
+        public static final String CI_DISK_CACHE_DIR = "target/chrome-cache";
+        public static final String[] CI_CHROME_OPTIONS = {
+            "--headless=new",
+            "--disable-dev-shm-usage",
+            "--disable-gpu",
+            "--disable-extensions",
+            "--disable-component-extensions-with-background-pages",
+            "--disable-background-networking",
+            "--disable-background-timer-throttling",
+            "--disable-backgrounding-occluded-windows",
+            "--disable-renderer-backgrounding",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--mute-audio"
+        };
+    }
+    
+    // ===== SELECCIÓN DE PRODUCTOS =====
+    public static class ProductSelection {
+        // homepage: categoría y listado como un usuario; deeplink: prod.html?idp_=<id> directamente
+        public static final String MODE_PROPERTY = "product.selection";
+        public static final String DEFAULT_MODE = "homepage";
+        public static final String PHONES_CATEGORY = "phone";
+    }
+    
+    // ===== FORMULARIO DE COMPRA =====
+    public static class Checkout {
+        // script: los seis campos en un único executeScript; keys: sendKeys campo a campo (teclado real)
+        public static final String FILL_MODE_PROPERTY = "checkout.fill";
+        public static final String DEFAULT_FILL_MODE = "script";
+    }
+    
+    // ===== CHECKPOINTS DEL NAVEGADOR =====
+    public static class Checkpoints {
+        // Vida de un checkpoint en la caché y número máximo guardado (se desaloja el usado hace más tiempo)
+        public static final String TTL_SECONDS_PROPERTY = "checkpoint.ttl.seconds";
+        public static final String MAX_ENTRIES_PROPERTY = "checkpoint.max.entries";
+        public static final int DEFAULT_TTL_SECONDS = 600;
+        public static final int DEFAULT_MAX_ENTRIES = 16;
+    }
+    
+    // ===== CONFIGURACIÓN DEL POOL DE NAVEGADORES =====
+    public static class BrowserPool {
+        // Número de sesiones headless que se arrancan en segundo plano durante el descubrimiento de pruebas
+        public static final String PREWARM_SIZE_PROPERTY = "browser.pool.size";
+        public static final int DEFAULT_PREWARM_SIZE = 0;
+        public static final int WARM_SESSION_WAIT_SECONDS = 30;
+    }
+    
+    // ===== BLOQUEO DE RECURSOS DE RED (DEVTOOLS) =====
+    public static class NetworkBlocking {
+        // -Dnetwork.blocking=standard descarta imágenes (también las del carrusel), fuentes y analítica al crear cada sesión
+        public static final String PROFILE_PROPERTY = "network.blocking";
+        public static final String DEFAULT_PROFILE = "none";
+        public static final String[] IMAGE_PATTERNS = {
+            "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico", "*/imgs/*"
+        };
+        public static final String[] FONT_PATTERNS = {
+            "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot", "*fonts.googleapis.com*", "*fonts.gstatic.com*"
+        };
+        public static final String[] ANALYTICS_PATTERNS = {
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*facebook.net*", "*hotjar.com*"
+        };
+    }
+    
+    // ===== REINTENTO DE PASOS IDEMPOTENTES =====
+    public static class StepRetry {
+        // Reintentos disponibles para toda la ejecución (0 desactiva el reintento)
+        public static final String BUDGET_PROPERTY = "step.retry.budget";
+        // Intentos máximos de un mismo paso, contando el primero
+        public static final String MAX_ATTEMPTS_PROPERTY = "step.retry.max.attempts";
+        public static final int DEFAULT_BUDGET = 5;
+        public static final int DEFAULT_MAX_ATTEMPTS = 2;
+    }
+    
+    // ===== REPARTO DE LA SUITE EN VARIAS JVM (SHARDING) =====
+    public static class Sharding {
+        // -Dshard.index=i -Dshard.count=n ejecuta solo el shard i (desde 0) de n
+        public static final String INDEX_PROPERTY = "shard.index";
+        public static final String COUNT_PROPERTY = "shard.count";
+        // Duraciones de ejecuciones anteriores con las que se equilibran los shards; fuera de target/
+        // para que sobrevivan a mvn clean, junto al histórico de tiempos
+        public static final String DURATIONS_FILE_PROPERTY = "shard.durations";
+        public static final String DEFAULT_DURATIONS_FILE = ".timings/test-durations.properties";
+    }
+    
+    // ===== HISTÓRICO DE TIEMPOS ENTRE EJECUCIONES =====
+    public static class TimingHistory {
+        // Fichero binario de solo añadir; fuera de target/ para que sobreviva a mvn clean
+        public static final String STORE_PROPERTY = "timing.store";
+        public static final String DEFAULT_STORE = ".timings/timings.bin";
+        public static final String COMMIT_PROPERTY = "timing.commit";
+        public static final String ENVIRONMENT_PROPERTY = "timing.environment";
+        // Línea base: las últimas N ejecuciones anteriores, opcionalmente con al menos D días de antigüedad
+        public static final String BASELINE_RUNS_PROPERTY = "timing.baseline.runs";
+        public static final String BASELINE_DAYS_PROPERTY = "timing.baseline.days";
+        public static final int DEFAULT_BASELINE_RUNS = 10;
+        public static final int DEFAULT_BASELINE_DAYS = 0;
+        // Subida mínima del p95 (0.2 = +20%) para considerar una serie, además de la significación estadística
+        public static final String P95_THRESHOLD_PROPERTY = "timing.p95.threshold";
+        public static final double DEFAULT_P95_THRESHOLD = 0.2;
+        public static final double SIGNIFICANCE = 0.01;
+        public static final int MIN_SAMPLES = 5;
+    }
+    
+    // ===== CARGA SIN NAVEGADOR (USUARIOS VIRTUALES) =====
+    public static class LoadTest {
+        // Usuarios nuevos por segundo una vez terminada la rampa
+        public static final String ARRIVAL_RATE_PROPERTY = "load.rate";
+        public static final String RAMP_SECONDS_PROPERTY = "load.ramp.seconds";
+        public static final String DURATION_SECONDS_PROPERTY = "load.duration.seconds";
+        public static final double DEFAULT_ARRIVAL_RATE = 5.0;
+        public static final int DEFAULT_RAMP_SECONDS = 10;
+        public static final int DEFAULT_DURATION_SECONDS = 60;
+        // Tiempo máximo para que terminen los usuarios en curso al acabar la llegada de nuevos
+        public static final int DRAIN_TIMEOUT_SECONDS = 60;
+        public static final String JOURNEY_CATEGORY = "phone";
     }
     
     // ===== DATOS DE CLIENTE PARA PRUEBAS =====
@@ -56,6 +201,24 @@ public class TestConfiguration {
         public static final String SERENITY_REPORTS_PATH = "target/site/serenity/";
         public static final String SERENITY_INDEX_FILE = "index.html";
         public static final String SCREENSHOTS_PATH = "target/site/serenity/screenshots/";
+        // Histogramas de latencia (Prometheus y JSON) que se escriben al terminar la ejecución
+        public static final String METRICS_PATH = "target/metrics/";
+        // Informe del perfil fast-report (ReportAggregator): streaming, en paralelo e incremental
+        public static final String AGGREGATE_PATH = "target/site/serenity-fast/";
+        public static final String INCREMENTAL_PROPERTY = "report.incremental";
+    }
+    
+    // ===== CAPTURAS DE PANTALLA EN SEGUNDO PLANO =====
+    public static class Screenshots {
+        // failures (solo pruebas fallidas), task (cada @Step de tareas) o step (también métodos de páginas)
+        public static final String POLICY_PROPERTY = "screenshots.policy";
+        public static final String DEFAULT_POLICY = "failures";
+        public static final int MAX_WIDTH = 1280;
+        public static final float JPEG_QUALITY = 0.7f;
+        // Bits distintos (de 64) por debajo de los cuales una captura se considera igual a la anterior
+        public static final int DUPLICATE_MAX_DISTANCE = 2;
+        public static final int MAX_PENDING = 32;
+        public static final int WRITER_THREADS = 2;
     }
     
     // ===== CONFIGURACIÓN DE LOCALIZADORES =====
@@ -73,6 +236,176 @@ public class TestConfiguration {
     
     // ===== MÉTODOS DE UTILIDAD =====
     
+    /**
+     * Obtiene la URL del API REST de Demoblaze (sobrescribible con -Dapi.url)
+     * @return URL base del API terminada en /
+     */
+    public static String getApiUrl() {
+        String apiUrl = System.getProperty("api.url", URLs.API_URL);
+        return apiUrl.endsWith("/") ? apiUrl : apiUrl + "/";
+    }
+    
+    /**
+     * Indica si las pruebas deben ejecutarse contra el servidor local de Demoblaze
+     * @return true si se indicó -Dstub.server=true
+     */
+    public static boolean isStubServerEnabled() {
+        return Boolean.parseBoolean(System.getProperty(StubServer.ENABLED_PROPERTY, "false"));
+    }
+    
+    public static int getStubPort() {
+        return Integer.parseInt(System.getProperty(StubServer.PORT_PROPERTY, String.valueOf(StubServer.DEFAULT_PORT)));
+    }
+    
+    public static long getStubLatencyMillis() {
+        return Long.parseLong(System.getProperty(StubServer.LATENCY_PROPERTY, String.valueOf(StubServer.DEFAULT_LATENCY_MS)));
+    }
+    
+    /**
+     * Obtiene el número de sesiones a precalentar en el pool de navegadores
+     * @return número de sesiones configurado mediante browser.pool.size
+     */
+    public static int getBrowserPoolSize() {
+        return Integer.parseInt(System.getProperty(BrowserPool.PREWARM_SIZE_PROPERTY,
+                String.valueOf(BrowserPool.DEFAULT_PREWARM_SIZE)));
+    }
+    
+    /**
+     * Obtiene la estrategia de carga de páginas del navegador
+     * @return normal, eager o none (sobrescribible con -Dpage.load.strategy)
+     */
+    public static String getPageLoadStrategy() {
+        return System.getProperty(Browser.PAGE_LOAD_STRATEGY_PROPERTY, Browser.DEFAULT_PAGE_LOAD_STRATEGY);
+    }
+    
+    /**
+     * Obtiene el perfil de lanzamiento del navegador
+     * @return local o ci (sobrescribible con -Dbrowser.profile)
+     */
+    public static String getBrowserProfile() {
+        return System.getProperty(Browser.PROFILE_PROPERTY, Browser.DEFAULT_PROFILE);
+    }
+    
+    /**
+     * Obtiene el número de reintentos de pasos disponibles para toda la ejecución
+     * @return presupuesto configurado mediante step.retry.budget
+     */
+    public static int getStepRetryBudget() {
+        return Integer.parseInt(System.getProperty(StepRetry.BUDGET_PROPERTY, String.valueOf(StepRetry.DEFAULT_BUDGET)));
+    }
+    
+    public static int getStepRetryMaxAttempts() {
+        return Integer.parseInt(System.getProperty(StepRetry.MAX_ATTEMPTS_PROPERTY, String.valueOf(StepRetry.DEFAULT_MAX_ATTEMPTS)));
+    }
+    
+    /**
+     * Obtiene la política de capturas de pantalla
+     * @return failures, task o step (sobrescribible con -Dscreenshots.policy)
+     */
+    public static String getScreenshotPolicy() {
+        return System.getProperty(Screenshots.POLICY_PROPERTY, Screenshots.DEFAULT_POLICY);
+    }
+    
+    /**
+     * Indica si el ReportAggregator debe reutilizar las páginas de resultados que no cambiaron
+     * @return false solo si se indicó -Dreport.incremental=false
+     */
+    public static boolean isIncrementalReport() {
+        return Boolean.parseBoolean(System.getProperty(Reports.INCREMENTAL_PROPERTY, "true"));
+    }
+    
+    /**
+     * Obtiene el número de shards en que se reparte la suite
+     * @return valor de shard.count, o 1 si no se indicó (sin sharding)
+     * @throws IllegalStateException si es menor que 1
+     */
+    public static int getShardCount() {
+        int count = Integer.parseInt(System.getProperty(Sharding.COUNT_PROPERTY, "1").trim());
+        if (count < 1) {
+            throw new IllegalStateException(Sharding.COUNT_PROPERTY + " must be at least 1, was " + count);
+        }
+        return count;
+    }
+    
+    /**
+     * Obtiene el shard que ejecuta esta JVM
+     * @return valor de shard.index, o 0 si no se indicó
+     * @throws IllegalStateException si no está entre 0 y shard.count - 1: ningún shard ejecutaría nada
+     */
+    public static int getShardIndex() {
+        int index = Integer.parseInt(System.getProperty(Sharding.INDEX_PROPERTY, "0").trim());
+        int count = getShardCount();
+        if (index < 0 || index >= count) {
+            throw new IllegalStateException(Sharding.INDEX_PROPERTY + " must be between 0 and " + (count - 1)
+                + " for " + Sharding.COUNT_PROPERTY + "=" + count + ", was " + index);
+        }
+        return index;
+    }
+    
+    public static String getShardDurationsFile() {
+        return System.getProperty(Sharding.DURATIONS_FILE_PROPERTY, Sharding.DEFAULT_DURATIONS_FILE);
+    }
+    
+    public static String getTimingStoreFile() {
+        return System.getProperty(TimingHistory.STORE_PROPERTY, TimingHistory.DEFAULT_STORE);
+    }
+    
+    public static int getTimingBaselineRuns() {
+        return Integer.parseInt(System.getProperty(TimingHistory.BASELINE_RUNS_PROPERTY, String.valueOf(TimingHistory.DEFAULT_BASELINE_RUNS)));
+    }
+    
+    public static int getTimingBaselineDays() {
+        return Integer.parseInt(System.getProperty(TimingHistory.BASELINE_DAYS_PROPERTY, String.valueOf(TimingHistory.DEFAULT_BASELINE_DAYS)));
+    }
+    
+    public static double getTimingP95Threshold() {
+        return Double.parseDouble(System.getProperty(TimingHistory.P95_THRESHOLD_PROPERTY, String.valueOf(TimingHistory.DEFAULT_P95_THRESHOLD)));
+    }
+    
+    /**
+     * Obtiene cómo llegan las tareas a la página de producto
+     * @return homepage o deeplink (sobrescribible con -Dproduct.selection)
+     */
+    public static String getProductSelectionMode() {
+        return System.getProperty(ProductSelection.MODE_PROPERTY, ProductSelection.DEFAULT_MODE);
+    }
+    
+    /**
+     * Indica si el formulario de compra se rellena con un único script en lugar de tecleando
+     * @return false si se indicó -Dcheckout.fill=keys
+     */
+    public static boolean isCheckoutFastFill() {
+        return !"keys".equalsIgnoreCase(System.getProperty(Checkout.FILL_MODE_PROPERTY, Checkout.DEFAULT_FILL_MODE));
+    }
+    
+    public static int getCheckpointTtlSeconds() {
+        return Integer.parseInt(System.getProperty(Checkpoints.TTL_SECONDS_PROPERTY, String.valueOf(Checkpoints.DEFAULT_TTL_SECONDS)));
+    }
+    
+    public static int getCheckpointMaxEntries() {
+        return Integer.parseInt(System.getProperty(Checkpoints.MAX_ENTRIES_PROPERTY, String.valueOf(Checkpoints.DEFAULT_MAX_ENTRIES)));
+    }
+    
+    public static double getLoadArrivalRate() {
+        return Double.parseDouble(System.getProperty(LoadTest.ARRIVAL_RATE_PROPERTY, String.valueOf(LoadTest.DEFAULT_ARRIVAL_RATE)));
+    }
+    
+    public static int getLoadRampSeconds() {
+        return Integer.parseInt(System.getProperty(LoadTest.RAMP_SECONDS_PROPERTY, String.valueOf(LoadTest.DEFAULT_RAMP_SECONDS)));
+    }
+    
+    public static int getLoadDurationSeconds() {
+        return Integer.parseInt(System.getProperty(LoadTest.DURATION_SECONDS_PROPERTY, String.valueOf(LoadTest.DEFAULT_DURATION_SECONDS)));
+    }
+    
+    /**
+     * Obtiene el perfil de bloqueo de red configurado
+     * @return none, images o standard (sobrescribible con -Dnetwork.blocking)
+     */
+    public static String getNetworkBlockingProfile() {
+        return System.getProperty(NetworkBlocking.PROFILE_PROPERTY, NetworkBlocking.DEFAULT_PROFILE);
+    }
+    
     /**
      * Obtiene la URL base según el ambiente
      * @param environment ambiente (test, prod, etc.)
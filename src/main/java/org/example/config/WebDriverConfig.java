@@ -11,12 +11,13 @@ public class WebDriverConfig {
      * Centraliza las opciones de configuración del WebDriver
      */
     public static class BrowserConfig {
-        public static final String DEFAULT_BROWSER = "chrome";
-        public static final boolean UNIQUE_SESSION = true;
-        public static final boolean MAXIMIZE_WINDOW = true; // Configurado en serenity.properties
+        // Los valores salen de TestConfiguration.Browser para no mantener dos copias
+        public static final String DEFAULT_BROWSER = TestConfiguration.Browser.DEFAULT_BROWSER;
+        public static final boolean UNIQUE_SESSION = TestConfiguration.Browser.UNIQUE_SESSION;
+        public static final boolean MAXIMIZE_WINDOW = TestConfiguration.Browser.MAXIMIZE_WINDOW;
         
-        // Configuraciones adicionales para diferentes navegadores
-        public static final String CHROME_OPTIONS = "--start-maximized";
-        public static final String FIREFOX_OPTIONS = "--start-maximized";
+        // Configuraciones adicionales para diferentes navegadores (perfil local; el perfil ci usa CI_CHROME_OPTIONS)
+        public static final String CHROME_OPTIONS = TestConfiguration.Browser.CHROME_OPTIONS;
+        public static final String FIREFOX_OPTIONS = TestConfiguration.Browser.FIREFOX_OPTIONS;
     }
 }
@@ -0,0 +1,50 @@
+package org.example.driver;
+
+import org.example.config.TestConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Perfiles de bloqueo de red: qué patrones de URL se descartan en el navegador
+ * Ninguna aserción de la suite depende de imágenes, fuentes ni analítica salvo las que usan @LoadAllResources
+ * Las imágenes del carrusel caen en IMAGE_PATTERNS por extensión, sin depender de sus nombres de fichero
+ */
+public enum BlockingProfile {
+
+    NONE,
+    IMAGES(TestConfiguration.NetworkBlocking.IMAGE_PATTERNS),
+    STANDARD(TestConfiguration.NetworkBlocking.IMAGE_PATTERNS,
+             TestConfiguration.NetworkBlocking.FONT_PATTERNS,
+             TestConfiguration.NetworkBlocking.ANALYTICS_PATTERNS);
+
+    private final List<String> urlPatterns;
+
+    BlockingProfile(String[]... patternGroups) {
+        List<String> patterns = new ArrayList<>();
+        for (String[] group : patternGroups) {
+            patterns.addAll(Arrays.asList(group));
+        }
+        this.urlPatterns = Collections.unmodifiableList(patterns);
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    /**
+     * Obtiene el perfil indicado por network.blocking
+     * @return perfil configurado (NONE si no se indicó)
+     */
+    public static BlockingProfile fromConfiguration() {
+        String profile = TestConfiguration.getNetworkBlockingProfile();
+        try {
+            return valueOf(profile.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown network blocking profile: " + profile
+                + " (expected one of " + Arrays.toString(values()) + ")");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.driver;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Mide la memoria residente (RSS) de una sesión de Chrome en Linux leyendo /proc
+ * Localiza el proceso principal por su --user-data-dir (único por sesión) y suma el de todos sus descendientes
+ * (renderers, GPU, utilidades); en otros sistemas devuelve -1
+ */
+public class BrowserMemoryProbe {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private BrowserMemoryProbe() {
+    }
+
+    /**
+     * Obtiene el RSS total de los procesos del navegador de la sesión
+     * @param driver driver de la sesión
+     * @return kilobytes residentes, o -1 si no se puede medir
+     */
+    public static long residentSetKb(WebDriver driver) {
+        String userDataDir = userDataDir(driver);
+        if (userDataDir == null || !Files.isDirectory(PROC)) {
+            return -1;
+        }
+        Map<Long, Long> parentByPid = new HashMap<>();
+        Set<Long> sessionPids = new HashSet<>();
+        for (long pid : listPids()) {
+            Long parent = readParentPid(pid);
+            if (parent == null) {
+                continue;
+            }
+            parentByPid.put(pid, parent);
+            if (readCommandLine(pid).contains("--user-data-dir=" + userDataDir)) {
+                sessionPids.add(pid);
+            }
+        }
+        if (sessionPids.isEmpty()) {
+            return -1;
+        }
+        long totalKb = 0;
+        for (Map.Entry<Long, Long> entry : parentByPid.entrySet()) {
+            if (belongsToSession(entry.getKey(), parentByPid, sessionPids)) {
+                totalKb += readResidentKb(entry.getKey());
+            }
+        }
+        return totalKb;
+    }
+
+    private static String userDataDir(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return null;
+        }
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+        Object chrome = capabilities.getCapability("chrome");
+        if (chrome instanceof Map) {
+            Object dir = ((Map<?, ?>) chrome).get("userDataDir");
+            return dir == null ? null : dir.toString();
+        }
+        return null;
+    }
+
+    private static boolean belongsToSession(long pid, Map<Long, Long> parentByPid, Set<Long> sessionPids) {
+        Long current = pid;
+        // Sube por la cadena de padres hasta encontrar un proceso de la sesión o llegar a init
+        for (int depth = 0; current != null && current > 1 && depth < 64; depth++) {
+            if (sessionPids.contains(current)) {
+                return true;
+            }
+            current = parentByPid.get(current);
+        }
+        return false;
+    }
+
+    private static List<Long> listPids() {
+        List<Long> pids = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(PROC)) {
+            entries.map(path -> path.getFileName().toString())
+                .filter(name -> name.chars().allMatch(Character::isDigit))
+                .forEach(name -> pids.add(Long.parseLong(name)));
+        } catch (IOException e) {
+            // /proc no legible: no hay nada que medir
+        }
+        return pids;
+    }
+
+    private static Long readParentPid(long pid) {
+        try {
+            String stat = new String(Files.readAllBytes(PROC.resolve(pid + "/stat")), StandardCharsets.UTF_8);
+            // El nombre del proceso va entre paréntesis y puede contener espacios: el ppid es el 2º campo tras ')'
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return Long.parseLong(fields[1]);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String readCommandLine(long pid) {
+        try {
+            return new String(Files.readAllBytes(PROC.resolve(pid + "/cmdline")), StandardCharsets.UTF_8).replace('\0', ' ');
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static long readResidentKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(pid + "/status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // El proceso terminó mientras se leía
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.driver;
+
+import org.example.config.TestConfiguration;
+import org.example.config.WebDriverConfig;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Perfiles de lanzamiento de Chrome seleccionables con -Dbrowser.profile
+ * LOCAL mantiene la ventana maximizada de siempre; CI arranca headless, con tamaño fijo y sin los
+ * procesos y temporizadores de fondo que en un agente Linux solo consumen memoria y CPU
+ */
+public enum BrowserProfile {
+
+    LOCAL {
+        @Override
+        void configure(ChromeOptions options, boolean forceHeadless) {
+            options.addArguments(WebDriverConfig.BrowserConfig.CHROME_OPTIONS);
+            if (forceHeadless || Boolean.parseBoolean(System.getProperty("headless.mode", "false"))) {
+                options.addArguments("--headless=new");
+            }
+        }
+    },
+    CI {
+        @Override
+        void configure(ChromeOptions options, boolean forceHeadless) {
+            options.addArguments(TestConfiguration.Browser.CI_CHROME_OPTIONS);
+            options.addArguments("--window-size=" + TestConfiguration.Browser.CI_WINDOW_SIZE);
+            // Caché en disco compartida entre sesiones: los recursos estáticos del sitio se descargan una vez
+            options.addArguments("--disk-cache-dir="
+                + Paths.get(TestConfiguration.Browser.CI_DISK_CACHE_DIR).toAbsolutePath());
+        }
+    };
+
+    /**
+     * Añade a las opciones los argumentos del perfil
+     * @param options opciones de Chrome en construcción
+     * @param forceHeadless true para las sesiones del pool precalentado
+     */
+    abstract void configure(ChromeOptions options, boolean forceHeadless);
+
+    /**
+     * Obtiene el perfil indicado por browser.profile
+     * @return perfil configurado (LOCAL si no se indicó)
+     */
+    public static BrowserProfile fromConfiguration() {
+        String profile = TestConfiguration.getBrowserProfile();
+        try {
+            return valueOf(profile.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown browser profile: " + profile
+                + " (expected one of " + Arrays.toString(values()) + ")");
+        }
+    }
+}
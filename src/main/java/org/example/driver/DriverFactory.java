@@ -0,0 +1,62 @@
+package org.example.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.example.config.TestConfiguration;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Fábrica de sesiones de navegador usadas por el pool de drivers
+ * Centraliza las opciones de Chrome definidas en WebDriverConfig y el perfil de lanzamiento (local o ci)
+ */
+public class DriverFactory {
+
+    private static volatile boolean driverBinaryResolved = false;
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Crea una nueva sesión de Chrome con la configuración del proyecto
+     * @return WebDriver listo para usar
+     */
+    public static WebDriver createDriver() {
+        return createDriver(false);
+    }
+
+    /**
+     * Crea una nueva sesión de Chrome, forzando el modo headless si se solicita
+     * @param forceHeadless true para las sesiones del pool precalentado
+     * @return WebDriver listo para usar
+     */
+    public static WebDriver createDriver(boolean forceHeadless) {
+        resolveDriverBinary();
+        return new ChromeDriver(buildChromeOptions(forceHeadless));
+    }
+
+    /**
+     * Construye las opciones de Chrome a partir de la configuración centralizada
+     * @param forceHeadless true para ignorar headless.mode y arrancar sin interfaz
+     * @return opciones de Chrome
+     */
+    public static ChromeOptions buildChromeOptions(boolean forceHeadless) {
+        ChromeOptions options = new ChromeOptions();
+        BrowserProfile.fromConfiguration().configure(options, forceHeadless);
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(TestConfiguration.getPageLoadStrategy().toLowerCase()));
+        return options;
+    }
+
+    private static void resolveDriverBinary() {
+        if (driverBinaryResolved) {
+            return;
+        }
+        synchronized (DriverFactory.class) {
+            if (!driverBinaryResolved) {
+                WebDriverManager.chromedriver().setup();
+                driverBinaryResolved = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.example.driver;
+
+import org.example.config.TestConfiguration;
+import org.example.metrics.CommandTimingListener;
+import org.example.utils.BrowserScripts;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de sesiones de WebDriver seguro para ejecución en paralelo
+ * Cada hilo de JUnit obtiene (lease) su propio navegador y lo devuelve al terminar la clase,
+ * de modo que las páginas y tareas quedan ligadas al driver del hilo y no a un contexto estático compartido.
+ * Las sesiones devueltas se reciclan (about:blank, cookies y storage limpios; ver resetState) en lugar de cerrarse,
+ * y pueden precalentarse en segundo plano mientras JUnit descubre las pruebas.
+ */
+public class DriverPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverPool.class);
+    private static final DriverPool INSTANCE = new DriverPool();
+    private static final CommandTimingListener COMMAND_TIMING = new CommandTimingListener();
+    private static final String CLEARED_STORAGE = "local_storage,indexeddb,websql,service_workers,cache_storage";
+
+    private final ThreadLocal<WebDriver> leasedDriver = new ThreadLocal<>();
+    private final LinkedBlockingDeque<WebDriver> idleDrivers = new LinkedBlockingDeque<>();
+    // Sesiones precalentadas que todavía no ha usado ninguna clase
+    private final Set<WebDriver> unusedPrewarmed = ConcurrentHashMap.newKeySet();
+    private final List<WebDriver> allDrivers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger warmingSessions = new AtomicInteger();
+    private final DriverPoolStats stats = new DriverPoolStats();
+    private final ExecutorService warmupExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DriverPool() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Arranca en segundo plano el número indicado de sesiones headless, ya situadas en about:blank
+     * @param count número de sesiones a precalentar
+     */
+    public void prewarm(int count) {
+        for (int i = 0; i < count; i++) {
+            warmingSessions.incrementAndGet();
+            warmupExecutor.submit(() -> {
+                try {
+                    WebDriver driver = createSession(true);
+                    driver.get("about:blank");
+                    unusedPrewarmed.add(driver);
+                    idleDrivers.addLast(driver);
+                } catch (Exception e) {
+                    LOGGER.warn("Could not pre-warm browser session: {}", e.getMessage());
+                } finally {
+                    warmingSessions.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Obtiene el driver asignado al hilo actual, reutilizando una sesión libre o creando una nueva
+     * @return WebDriver exclusivo del hilo actual
+     */
+    public WebDriver lease() {
+        WebDriver driver = leasedDriver.get();
+        if (driver != null) {
+            return driver;
+        }
+        long start = System.nanoTime();
+        driver = takeIdleDriver();
+        DriverPoolStats.LeaseSource source = DriverPoolStats.LeaseSource.CREATED;
+        if (driver != null) {
+            source = unusedPrewarmed.remove(driver) ? DriverPoolStats.LeaseSource.PREWARMED : DriverPoolStats.LeaseSource.RECYCLED;
+            if (!isResponsive(driver)) {
+                discard(driver);
+                driver = null;
+                source = DriverPoolStats.LeaseSource.CREATED;
+            }
+        }
+        if (driver == null) {
+            driver = createSession(TestConfiguration.getBrowserPoolSize() > 0);
+            // El primer comando confirma que la sesión nueva responde antes de entregarla
+            driver.getWindowHandle();
+        }
+        stats.recordLease(source, System.nanoTime() - start);
+        leasedDriver.set(driver);
+        return driver;
+    }
+
+    /**
+     * Devuelve el driver del hilo actual al pool, limpiando su estado para el siguiente uso
+     */
+    public void release() {
+        WebDriver driver = leasedDriver.get();
+        if (driver == null) {
+            return;
+        }
+        leasedDriver.remove();
+        recordMemory(driver);
+        try {
+            resetState(driver);
+            idleDrivers.addLast(driver);
+        } catch (Exception e) {
+            // Sesión inutilizable: se descarta en lugar de reciclarla
+            discard(driver);
+        }
+    }
+
+    /**
+     * Obtiene el driver asignado al hilo actual sin crear uno nuevo
+     * @return WebDriver del hilo o null si no hay ninguno asignado
+     */
+    public WebDriver current() {
+        return leasedDriver.get();
+    }
+
+    public DriverPoolStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Cierra todas las sesiones creadas por el pool
+     */
+    public void shutdown() {
+        warmupExecutor.shutdownNow();
+        idleDrivers.clear();
+        unusedPrewarmed.clear();
+        for (WebDriver driver : allDrivers) {
+            discard(driver);
+        }
+        if (stats.getLeases() > 0) {
+            LOGGER.info(stats.toString());
+        }
+    }
+
+    private WebDriver takeIdleDriver() {
+        WebDriver driver = idleDrivers.pollFirst();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TestConfiguration.BrowserPool.WARM_SESSION_WAIT_SECONDS);
+        // Si hay sesiones arrancando, esperar por una caliente es más barato que lanzar otro Chrome
+        while (driver == null && warmingSessions.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                driver = idleDrivers.pollFirst(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return driver;
+    }
+
+    private WebDriver createSession(boolean headless) {
+        WebDriver browser = DriverFactory.createDriver(headless);
+        // El perfil de bloqueo se fija antes de la primera navegación; cada prueba puede cambiarlo después
+        NetworkBlocker.apply(browser, BlockingProfile.fromConfiguration());
+        BrowserScripts.installNetworkTrackerOnNewDocuments(browser);
+        // Cada comando de la sesión queda cronometrado por tipo en SuiteMetrics
+        WebDriver driver = new EventFiringDecorator<>(COMMAND_TIMING).decorate(browser);
+        allDrivers.add(driver);
+        stats.recordSessionCreated();
+        return driver;
+    }
+
+    private void recordMemory(WebDriver driver) {
+        long residentKb = BrowserMemoryProbe.residentSetKb(driver);
+        if (residentKb > 0) {
+            stats.recordSessionMemory(residentKb);
+            LOGGER.debug("Browser session RSS: {} MB", residentKb / 1024);
+        }
+    }
+
+    private boolean isResponsive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // deleteAllCookies y el script solo alcanzan al origen del documento actual; con DevTools se borran además las
+    // cookies de todos los dominios y el almacenamiento de los orígenes de la suite (sitio y API). El sessionStorage
+    // de otros orígenes visitados en la pestaña no se puede borrar sin navegar a ellos y sobrevive al reciclado
+    private void resetState(WebDriver driver) {
+        String currentOrigin = originOf(driver.getCurrentUrl());
+        ((JavascriptExecutor) driver).executeScript(
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        if (driver instanceof HasCdp) {
+            HasCdp devTools = (HasCdp) driver;
+            devTools.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            Set<String> origins = new LinkedHashSet<>(List.of(currentOrigin,
+                originOf(System.getProperty("base.url", TestConfiguration.URLs.BASE_URL)), originOf(TestConfiguration.getApiUrl())));
+            for (String origin : origins) {
+                if (!origin.isEmpty()) {
+                    devTools.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", CLEARED_STORAGE));
+                }
+            }
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        driver.get("about:blank");
+    }
+
+    // "" para about:blank, data: y direcciones no válidas
+    private static String originOf(String address) {
+        try {
+            URI uri = URI.create(address);
+            if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme())) {
+                return "";
+            }
+            return uri.getScheme() + "://" + uri.getAuthority();
+        } catch (RuntimeException e) {
+            return "";
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        allDrivers.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            // La sesión ya no responde; no hay nada más que cerrar
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.driver;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas del pool de navegadores
+ * Registra el tiempo hasta el primer comando de cada lease, de dónde salió la sesión (precalentada sin usar,
+ * reciclada de una clase anterior o creada en el momento) y la memoria residente (RSS) de cada sesión al devolverla
+ */
+public class DriverPoolStats {
+
+    // Origen de la sesión entregada en un lease
+    enum LeaseSource { CREATED, PREWARMED, RECYCLED }
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong prewarmedLeases = new AtomicLong();
+    private final AtomicLong reusedLeases = new AtomicLong();
+    private final AtomicLong createdSessions = new AtomicLong();
+    private final AtomicLong totalTimeToFirstCommandNanos = new AtomicLong();
+    private final AtomicLong maxTimeToFirstCommandNanos = new AtomicLong();
+    private final AtomicLong memorySamples = new AtomicLong();
+    private final AtomicLong totalResidentKb = new AtomicLong();
+    private final AtomicLong maxResidentKb = new AtomicLong();
+
+    void recordSessionCreated() {
+        createdSessions.incrementAndGet();
+    }
+
+    void recordLease(LeaseSource source, long timeToFirstCommandNanos) {
+        leases.incrementAndGet();
+        if (source == LeaseSource.PREWARMED) {
+            prewarmedLeases.incrementAndGet();
+        } else if (source == LeaseSource.RECYCLED) {
+            reusedLeases.incrementAndGet();
+        }
+        totalTimeToFirstCommandNanos.addAndGet(timeToFirstCommandNanos);
+        maxTimeToFirstCommandNanos.accumulateAndGet(timeToFirstCommandNanos, Math::max);
+    }
+
+    void recordSessionMemory(long residentKb) {
+        memorySamples.incrementAndGet();
+        totalResidentKb.addAndGet(residentKb);
+        maxResidentKb.accumulateAndGet(residentKb, Math::max);
+    }
+
+    public long getLeases() {
+        return leases.get();
+    }
+
+    public long getPrewarmedLeases() {
+        return prewarmedLeases.get();
+    }
+
+    /**
+     * Leases atendidos con una sesión que ya usó otra clase y se recicló; los precalentados no cuentan
+     * @return número de leases reciclados
+     */
+    public long getReusedLeases() {
+        return reusedLeases.get();
+    }
+
+    public long getCreatedSessions() {
+        return createdSessions.get();
+    }
+
+    /**
+     * Proporción de leases atendidos reciclando la sesión de una clase anterior
+     * @return valor entre 0 y 1
+     */
+    public double getReuseRatio() {
+        long total = leases.get();
+        return total == 0 ? 0.0 : (double) reusedLeases.get() / total;
+    }
+
+    /**
+     * Proporción de leases atendidos con una sesión precalentada que nadie había usado
+     * @return valor entre 0 y 1
+     */
+    public double getPrewarmHitRatio() {
+        long total = leases.get();
+        return total == 0 ? 0.0 : (double) prewarmedLeases.get() / total;
+    }
+
+    public double getAverageTimeToFirstCommandMillis() {
+        long total = leases.get();
+        return total == 0 ? 0.0 : totalTimeToFirstCommandNanos.get() / 1_000_000.0 / total;
+    }
+
+    public double getMaxTimeToFirstCommandMillis() {
+        return maxTimeToFirstCommandNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * RSS medio por sesión (navegador y procesos hijos) medido al devolverla al pool
+     * @return megabytes, o 0 si no se pudo medir (sistemas sin /proc)
+     */
+    public double getAverageSessionResidentMb() {
+        long samples = memorySamples.get();
+        return samples == 0 ? 0.0 : totalResidentKb.get() / 1024.0 / samples;
+    }
+
+    public double getMaxSessionResidentMb() {
+        return maxResidentKb.get() / 1024.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DriverPoolStats{leases=%d, created=%d, prewarmed=%d, reused=%d, prewarmHitRatio=%.2f, reuseRatio=%.2f, avgTimeToFirstCommand=%.1fms, maxTimeToFirstCommand=%.1fms, avgSessionRss=%.0fMB, maxSessionRss=%.0fMB}",
+            getLeases(), getCreatedSessions(), getPrewarmedLeases(), getReusedLeases(), getPrewarmHitRatio(), getReuseRatio(),
+            getAverageTimeToFirstCommandMillis(), getMaxTimeToFirstCommandMillis(),
+            getAverageSessionResidentMb(), getMaxSessionResidentMb());
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca pruebas (método o clase) que necesitan todos los recursos de la página, por ejemplo
+ * las que comprueban imágenes; para ellas no se aplica el perfil de network.blocking
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface LoadAllResources {
+}
@@ -0,0 +1,49 @@
+package org.example.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica un perfil de bloqueo de red a una sesión de Chrome mediante DevTools (Network.setBlockedURLs)
+ * Las peticiones bloqueadas fallan al instante en el navegador, por lo que no retrasan la carga de la página
+ */
+public class NetworkBlocker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkBlocker.class);
+
+    private NetworkBlocker() {
+    }
+
+    /**
+     * Bloquea los patrones de URL del perfil en la sesión (un perfil vacío desbloquea todo)
+     * @param driver driver de la sesión; los navegadores sin DevTools se ignoran
+     * @param profile perfil a aplicar
+     */
+    public static void apply(WebDriver driver, BlockingProfile profile) {
+        if (!(driver instanceof HasCdp)) {
+            if (profile != BlockingProfile.NONE) {
+                LOGGER.debug("Network blocking not available for {}", driver.getClass().getSimpleName());
+            }
+            return;
+        }
+        HasCdp devTools = (HasCdp) driver;
+        List<String> urlPatterns = profile.getUrlPatterns();
+        if (!urlPatterns.isEmpty()) {
+            devTools.executeCdpCommand("Network.enable", Map.of());
+        }
+        devTools.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", urlPatterns));
+    }
+
+    /**
+     * Elimina cualquier bloqueo de la sesión (para pruebas que verifican imágenes)
+     * @param driver driver de la sesión
+     */
+    public static void clear(WebDriver driver) {
+        apply(driver, BlockingProfile.NONE);
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.history;
+
+import org.example.config.TestConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara una ejecución con las anteriores del mismo entorno y señala las series que se han vuelto más lentas
+ * Una serie es regresión cuando su p95 sube más del umbral configurado y, además, la prueba U de Mann-Whitney
+ * (unilateral) indica que sus tiempos son mayores que los de la línea base con la significación configurada;
+ * así un p95 alto por una sola muestra ruidosa no se marca
+ */
+public class RegressionDetector {
+
+    private final double p95Threshold;
+    private final double significance;
+    private final int minSamples;
+
+    public RegressionDetector(double p95Threshold, double significance, int minSamples) {
+        this.p95Threshold = p95Threshold;
+        this.significance = significance;
+        this.minSamples = minSamples;
+    }
+
+    public static RegressionDetector fromConfiguration() {
+        return new RegressionDetector(TestConfiguration.getTimingP95Threshold(),
+            TestConfiguration.TimingHistory.SIGNIFICANCE, TestConfiguration.TimingHistory.MIN_SAMPLES);
+    }
+
+    /**
+     * Selecciona la línea base de una ejecución: las ejecuciones anteriores del historial, opcionalmente solo las
+     * que tienen al menos cierta antigüedad ("desde la semana pasada"), quedándose con las más recientes
+     * @param history ejecuciones del mismo entorno, de la más antigua a la más reciente
+     * @param candidate ejecución a evaluar
+     * @param minAgeDays antigüedad mínima respecto al candidato (0 para todas las anteriores)
+     * @param maxRuns número máximo de ejecuciones en la línea base
+     * @return ejecuciones de la línea base
+     */
+    public static List<TimingRun> baseline(List<TimingRun> history, TimingRun candidate, int minAgeDays, int maxRuns) {
+        long cutoff = candidate.getEpochMillis() - TimeUnit.DAYS.toMillis(minAgeDays);
+        List<TimingRun> baseline = new ArrayList<>();
+        for (TimingRun run : history) {
+            if (run != candidate && run.getEpochMillis() < candidate.getEpochMillis() && run.getEpochMillis() <= cutoff) {
+                baseline.add(run);
+            }
+        }
+        return baseline.subList(Math.max(0, baseline.size() - maxRuns), baseline.size());
+    }
+
+    /**
+     * Evalúa todas las series del candidato con muestras suficientes en ambos lados
+     * Las series con pocas muestras por ejecución (los escenarios dan una) se completan con las ejecuciones
+     * más recientes de la línea base hasta reunir el mínimo, y esas ejecuciones salen de la referencia:
+     * así se detecta una lentitud sostenida en las últimas ejecuciones frente a las anteriores
+     * @param baseline ejecuciones de referencia, de la más antigua a la más reciente
+     * @param candidate ejecución a evaluar
+     * @return regresiones, de mayor a menor subida del p95
+     */
+    public List<Regression> compare(List<TimingRun> baseline, TimingRun candidate) {
+        List<Regression> regressions = new ArrayList<>();
+        for (Map.Entry<String, long[]> series : candidate.getSeries().entrySet()) {
+            long[] current = series.getValue();
+            int referenceRuns = baseline.size();
+            while (current.length < minSamples && referenceRuns > 0) {
+                long[] earlier = baseline.get(--referenceRuns).getSeries().get(series.getKey());
+                if (earlier != null) {
+                    current = concat(current, earlier);
+                }
+            }
+            long[] reference = pooled(baseline.subList(0, referenceRuns), series.getKey());
+            if (current.length < minSamples || reference.length < minSamples) {
+                continue;
+            }
+            long baselineP95 = percentile(reference, 95);
+            long candidateP95 = percentile(current, 95);
+            double change = baselineP95 == 0 ? 0.0 : (double) (candidateP95 - baselineP95) / baselineP95;
+            if (change <= p95Threshold) {
+                continue;
+            }
+            double pValue = mannWhitneyGreaterPValue(current, reference);
+            if (pValue < significance) {
+                regressions.add(new Regression(series.getKey(), baselineP95, candidateP95, change, pValue,
+                    reference.length, current.length));
+            }
+        }
+        regressions.sort(Comparator.comparingDouble(Regression::getP95Change).reversed());
+        return regressions;
+    }
+
+    private static long[] pooled(List<TimingRun> runs, String series) {
+        return runs.stream()
+            .map(run -> run.getSeries().get(series))
+            .filter(values -> values != null)
+            .flatMapToLong(Arrays::stream)
+            .toArray();
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    static long percentile(long[] values, double percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Prueba U de Mann-Whitney unilateral (aproximación normal con corrección por empates y por continuidad)
+     * @param candidate muestras que se sospechan mayores
+     * @param reference muestras de referencia
+     * @return p-valor de la hipótesis "candidate no es mayor que reference"
+     */
+    public static double mannWhitneyGreaterPValue(long[] candidate, long[] reference) {
+        int n1 = candidate.length;
+        int n2 = reference.length;
+        int n = n1 + n2;
+        long[][] all = new long[n][];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new long[] {candidate[i], 1};
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new long[] {reference[i], 0};
+        }
+        Arrays.sort(all, Comparator.comparingLong(pair -> pair[0]));
+        double candidateRankSum = 0;
+        double tieCorrection = 0;
+        for (int start = 0; start < n; ) {
+            int end = start;
+            while (end + 1 < n && all[end + 1][0] == all[start][0]) {
+                end++;
+            }
+            double averageRank = (start + end) / 2.0 + 1;
+            for (int i = start; i <= end; i++) {
+                if (all[i][1] == 1) {
+                    candidateRankSum += averageRank;
+                }
+            }
+            long ties = end - start + 1;
+            tieCorrection += ties * ties * ties - ties;
+            start = end + 1;
+        }
+        double u = candidateRankSum - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieCorrection / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - normalCdf(z);
+    }
+
+    // Función de distribución normal estándar (aproximación de Abramowitz y Stegun 7.1.26, error < 1.5e-7)
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    /**
+     * Compara la última ejecución guardada con su línea base e imprime las regresiones
+     * Sale con código 1 si hay alguna, para que el build falle
+     */
+    public static void main(String[] args) {
+        TimingStore store = TimingStore.fromConfiguration();
+        String environment = TimingRun.currentEnvironment();
+        List<TimingRun> history = store.read(environment);
+        if (history.isEmpty()) {
+            System.out.println("No timing history for environment " + environment + " in " + store.getFile());
+            return;
+        }
+        TimingRun candidate = history.get(history.size() - 1);
+        List<TimingRun> baseline = baseline(history, candidate,
+            TestConfiguration.getTimingBaselineDays(), TestConfiguration.getTimingBaselineRuns());
+        System.out.println("Comparing " + candidate + " against " + baseline.size() + " earlier runs");
+        List<Regression> regressions = fromConfiguration().compare(baseline, candidate);
+        regressions.forEach(System.out::println);
+        if (!regressions.isEmpty()) {
+            System.exit(1);
+        }
+        System.out.println("No significant slowdowns");
+    }
+
+    // Serie que se ha vuelto más lenta
+    public static class Regression {
+        private final String series;
+        private final long baselineP95Micros;
+        private final long candidateP95Micros;
+        private final double p95Change;
+        private final double pValue;
+        private final int baselineSamples;
+        private final int candidateSamples;
+
+        public Regression(String series, long baselineP95Micros, long candidateP95Micros, double p95Change,
+                          double pValue, int baselineSamples, int candidateSamples) {
+            this.series = series;
+            this.baselineP95Micros = baselineP95Micros;
+            this.candidateP95Micros = candidateP95Micros;
+            this.p95Change = p95Change;
+            this.pValue = pValue;
+            this.baselineSamples = baselineSamples;
+            this.candidateSamples = candidateSamples;
+        }
+
+        public String getSeries() { return series; }
+        public long getBaselineP95Micros() { return baselineP95Micros; }
+        public long getCandidateP95Micros() { return candidateP95Micros; }
+        public double getP95Change() { return p95Change; }
+        public double getPValue() { return pValue; }
+
+        @Override
+        public String toString() {
+            return String.format("REGRESSION %s: p95 %.1fms -> %.1fms (+%.0f%%, p=%.4f, n=%d/%d)",
+                series, baselineP95Micros / 1000.0, candidateP95Micros / 1000.0, p95Change * 100, pValue,
+                baselineSamples, candidateSamples);
+        }
+    }
+}
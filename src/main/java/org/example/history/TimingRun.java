@@ -0,0 +1,108 @@
+package org.example.history;
+
+import org.example.config.TestConfiguration;
+import org.example.metrics.SuiteMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tiempos de una ejecución de la suite: cuándo, de qué commit, en qué entorno y las muestras de cada serie
+ * Las series se nombran "categoría:nombre" (por ejemplo "page:HomePage.waitForHomepageFullyLoaded") y sus
+ * valores están en microsegundos
+ */
+public class TimingRun {
+
+    private final long epochMillis;
+    private final String commit;
+    private final String environment;
+    private final Map<String, long[]> series;
+
+    public TimingRun(long epochMillis, String commit, String environment, Map<String, long[]> series) {
+        this.epochMillis = epochMillis;
+        this.commit = commit;
+        this.environment = environment;
+        this.series = Collections.unmodifiableMap(new TreeMap<>(series));
+    }
+
+    /**
+     * Toma las muestras registradas en SuiteMetrics durante esta ejecución
+     * @return ejecución con el commit y el entorno actuales
+     */
+    public static TimingRun fromSuiteMetrics() {
+        Map<String, long[]> series = new TreeMap<>();
+        for (SuiteMetrics.Category category : SuiteMetrics.Category.values()) {
+            SuiteMetrics.getSamples(category).forEach((name, nanos) -> {
+                long[] micros = new long[nanos.length];
+                for (int i = 0; i < nanos.length; i++) {
+                    micros[i] = nanos[i] / 1_000;
+                }
+                series.put(category.getLabel() + ":" + name, micros);
+            });
+        }
+        return new TimingRun(System.currentTimeMillis(), currentCommit(), currentEnvironment(), series);
+    }
+
+    /**
+     * Commit de la ejecución: -Dtiming.commit, las variables de CI habituales o el HEAD del repositorio local
+     * @return hash del commit o "unknown"
+     */
+    public static String currentCommit() {
+        String commit = System.getProperty(TestConfiguration.TimingHistory.COMMIT_PROPERTY);
+        for (String variable : new String[] {"GIT_COMMIT", "GITHUB_SHA", "CI_COMMIT_SHA"}) {
+            if (commit == null || commit.isEmpty()) {
+                commit = System.getenv(variable);
+            }
+        }
+        if (commit != null && !commit.isEmpty()) {
+            return commit;
+        }
+        try {
+            Path git = Paths.get(".git");
+            String head = new String(Files.readAllBytes(git.resolve("HEAD")), StandardCharsets.UTF_8).trim();
+            if (!head.startsWith("ref: ")) {
+                return head;
+            }
+            Path ref = git.resolve(head.substring("ref: ".length()));
+            return Files.exists(ref) ? new String(Files.readAllBytes(ref), StandardCharsets.UTF_8).trim() : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Entorno de la ejecución: -Dtiming.environment, o el sitio, perfil de navegador, estrategia de carga y bloqueo
+     * de red, que son los que cambian los tiempos
+     * @return nombre del entorno
+     */
+    public static String currentEnvironment() {
+        String environment = System.getProperty(TestConfiguration.TimingHistory.ENVIRONMENT_PROPERTY);
+        if (environment != null && !environment.isEmpty()) {
+            return environment;
+        }
+        return String.join("/", TestConfiguration.isStubServerEnabled() ? "stub" : "public",
+            TestConfiguration.getBrowserProfile(), TestConfiguration.getPageLoadStrategy(),
+            TestConfiguration.getNetworkBlockingProfile());
+    }
+
+    public long getEpochMillis() { return epochMillis; }
+    public String getCommit() { return commit; }
+    public String getEnvironment() { return environment; }
+    public Map<String, long[]> getSeries() { return series; }
+
+    public boolean isEmpty() {
+        return series.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TimingRun{at=%tF %<tT, commit=%s, environment=%s, series=%d}",
+            epochMillis, commit.length() > 10 ? commit.substring(0, 10) : commit, environment, series.size());
+    }
+}
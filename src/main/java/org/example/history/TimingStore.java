@@ -0,0 +1,255 @@
+package org.example.history;
+
+import org.example.config.TestConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Histórico de tiempos en un único fichero binario de solo añadir
+ * Cada ejecución es un bloque independiente: marca, longitud, contenido y CRC32. El contenido es columnar
+ * (cabecera, nombres de las series, número de muestras de cada una y después todos los valores como varints
+ * en microsegundos), así que una ejecución típica ocupa unos pocos KB. Un bloque truncado o dañado se salta al
+ * leer sin perder los bloques válidos que le siguen; si queda al final (ejecución interrumpida mientras escribía)
+ * se recorta antes de añadir la siguiente ejecución. Las escrituras toman un bloqueo exclusivo del fichero
+ */
+public class TimingStore {
+
+    private static final int BLOCK_MAGIC = 0x544D5231; // "TMR1"
+    // Marca y longitud (dos int) más el CRC32 (long)
+    private static final int BLOCK_OVERHEAD = 16;
+
+    // Un monitor por fichero: FileChannel.lock no admite dos bloqueos solapados de la misma JVM
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private final Path file;
+
+    public TimingStore(Path file) {
+        this.file = file;
+    }
+
+    public static TimingStore fromConfiguration() {
+        return new TimingStore(Paths.get(TestConfiguration.getTimingStoreFile()));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Añade una ejecución al final del fichero, con un bloqueo exclusivo del fichero para que varias ejecuciones
+     * (también de otros procesos o agentes de CI) no se pisen
+     * @param run tiempos de la ejecución
+     */
+    public void append(TimingRun run) {
+        byte[] payload = encode(run);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteArrayOutputStream block = new ByteArrayOutputStream(payload.length + BLOCK_OVERHEAD);
+        try (DataOutputStream output = new DataOutputStream(block)) {
+            output.writeInt(BLOCK_MAGIC);
+            output.writeInt(payload.length);
+            output.write(payload);
+            output.writeLong(crc.getValue());
+        } catch (IOException e) {
+            throw new RuntimeException("Error encoding timing run: " + e.getMessage(), e);
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // El bloqueo del fichero es por proceso: dentro de la JVM se serializa antes por ruta
+            synchronized (lockFor(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                     FileLock lock = channel.lock()) {
+                    long end = scan(readAll(channel), new ArrayList<>());
+                    if (channel.size() > end) {
+                        // Restos de una ejecución interrumpida tras el último bloque válido: los anteriores se conservan
+                        channel.truncate(end);
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap(block.toByteArray());
+                    long position = end;
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    channel.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error appending timing run to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee todas las ejecuciones de un entorno, de la más antigua a la más reciente. Un bloque dañado se salta
+     * y la lectura continúa en el siguiente bloque válido
+     * @param environment entorno, o null para todos
+     * @return ejecuciones guardadas
+     */
+    public List<TimingRun> read(String environment) {
+        List<TimingRun> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        try {
+            // Sin bloqueo: un bloque a medio escribir por otra ejecución falla el CRC y se ignora
+            List<byte[]> payloads = new ArrayList<>();
+            scan(ByteBuffer.wrap(Files.readAllBytes(file)), payloads);
+            for (byte[] payload : payloads) {
+                TimingRun run = decode(payload, environment);
+                if (run != null) {
+                    runs.add(run);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading timing history from " + file + ": " + e.getMessage(), e);
+        }
+        return runs;
+    }
+
+    private static Object lockFor(Path file) {
+        return LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), path -> new Object());
+    }
+
+    private static ByteBuffer readAll(FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Timing history too large: " + channel.size() + " bytes");
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) channel.size());
+        while (data.hasRemaining()) {
+            if (channel.read(data, data.position()) < 0) {
+                break;
+            }
+        }
+        data.flip();
+        return data;
+    }
+
+    // Recorre los bloques y añade a payloads el contenido de los válidos. Tras un bloque dañado busca la
+    // siguiente marca cuyo bloque tenga CRC correcto. Devuelve el final del último bloque válido
+    private static long scan(ByteBuffer data, List<byte[]> payloads) {
+        int position = 0;
+        int end = 0;
+        while (data.limit() - position >= BLOCK_OVERHEAD) {
+            byte[] payload = blockAt(data, position);
+            if (payload == null) {
+                position++;
+                continue;
+            }
+            payloads.add(payload);
+            position += payload.length + BLOCK_OVERHEAD;
+            end = position;
+        }
+        return end;
+    }
+
+    // null si en esa posición no empieza un bloque completo y con CRC correcto
+    private static byte[] blockAt(ByteBuffer data, int position) {
+        if (data.getInt(position) != BLOCK_MAGIC) {
+            return null;
+        }
+        int length = data.getInt(position + 4);
+        if (length < 0 || length > data.limit() - position - BLOCK_OVERHEAD) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        data.get(position + 8, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue() == data.getLong(position + 8 + length) ? payload : null;
+    }
+
+    private static byte[] encode(TimingRun run) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(run.getEpochMillis());
+            output.writeUTF(run.getCommit());
+            output.writeUTF(run.getEnvironment());
+            output.writeInt(run.getSeries().size());
+            for (String name : run.getSeries().keySet()) {
+                output.writeUTF(name);
+            }
+            for (long[] values : run.getSeries().values()) {
+                writeVarLong(output, values.length);
+            }
+            for (long[] values : run.getSeries().values()) {
+                for (long value : values) {
+                    writeVarLong(output, Math.max(0, value));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error encoding timing run: " + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static TimingRun decode(byte[] payload, String environment) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        long epochMillis = input.readLong();
+        String commit = input.readUTF();
+        String runEnvironment = input.readUTF();
+        if (environment != null && !environment.equals(runEnvironment)) {
+            return null;
+        }
+        int seriesCount = input.readInt();
+        String[] names = new String[seriesCount];
+        for (int i = 0; i < seriesCount; i++) {
+            names[i] = input.readUTF();
+        }
+        int[] counts = new int[seriesCount];
+        for (int i = 0; i < seriesCount; i++) {
+            counts[i] = (int) readVarLong(input);
+        }
+        Map<String, long[]> series = new LinkedHashMap<>();
+        for (int i = 0; i < seriesCount; i++) {
+            long[] values = new long[counts[i]];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = readVarLong(input);
+            }
+            series.put(names[i], values);
+        }
+        return new TimingRun(epochMillis, commit, runEnvironment, series);
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(InputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in timing history");
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.load;
+
+import org.example.api.DemoblazeApiClient;
+import org.example.config.TestConfiguration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Motor de carga sin navegador: lanza usuarios virtuales que repiten el recorrido de compra contra el API
+ * Modelo abierto: los usuarios llegan a la tasa del perfil (con rampa) sin esperar a que terminen los anteriores.
+ * En Java 21+ cada usuario corre en un hilo virtual; en Java 17 se usa un hilo de plataforma por usuario
+ */
+public class LoadEngine {
+
+    private final DemoblazeApiClient api;
+
+    public LoadEngine() {
+        this(new DemoblazeApiClient());
+    }
+
+    public LoadEngine(DemoblazeApiClient api) {
+        this.api = api;
+    }
+
+    /**
+     * Ejecuta la carga y espera a que terminen los usuarios en curso
+     * @param profile tasa de llegada, rampa y duración
+     * @return latencias y throughput por endpoint
+     */
+    public LoadReport run(LoadProfile profile) {
+        LoadReport report = new LoadReport();
+        ExecutorService virtualThreads = newVirtualThreadExecutor();
+        ExecutorService users = virtualThreads != null ? virtualThreads : Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-user");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        try {
+            for (long user = 0; start + profile.arrivalNanos(user) < end; user++) {
+                // Las llegadas siguen el calendario del perfil aunque los usuarios anteriores no hayan terminado
+                waitUntil(start + profile.arrivalNanos(user));
+                users.submit(new PurchaseJourney(api, report));
+            }
+        } finally {
+            users.shutdown();
+            awaitDrain(users);
+        }
+        report.finish(System.nanoTime() - start, virtualThreads != null ? "virtual" : "platform");
+        return report;
+    }
+
+    /**
+     * Punto de entrada para ejecutar la carga desde la línea de comandos contra el sitio configurado
+     * El Demoblaze local solo está en el classpath de pruebas: con -Dstub.server=true se usa StubLoadRunner
+     */
+    public static void main(String[] args) {
+        if (TestConfiguration.isStubServerEnabled()) {
+            throw new IllegalStateException("stub.server=true needs the local site from the test classpath: run "
+                + "org.example.stub.StubLoadRunner with -Dexec.classpathScope=test instead");
+        }
+        runFromConfiguration();
+    }
+
+    /**
+     * Ejecuta la carga del perfil configurado e imprime el resumen
+     */
+    public static void runFromConfiguration() {
+        LoadProfile profile = LoadProfile.fromConfiguration();
+        System.out.println("Running " + profile + " against " + TestConfiguration.getApiUrl());
+        LoadReport report = new LoadEngine().run(profile);
+        System.out.print(report.toSummary());
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() existe desde Java 21; se busca por reflexión porque el proyecto compila para 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new RuntimeException("Load run interrupted");
+            }
+        }
+    }
+
+    private static void awaitDrain(ExecutorService users) {
+        try {
+            if (!users.awaitTermination(TestConfiguration.LoadTest.DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                users.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            users.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
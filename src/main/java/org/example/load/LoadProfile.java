@@ -0,0 +1,60 @@
+package org.example.load;
+
+import org.example.config.TestConfiguration;
+
+import java.time.Duration;
+
+/**
+ * Perfil de carga abierto: usuarios nuevos por segundo, rampa lineal desde cero y duración total
+ */
+public class LoadProfile {
+
+    private final double arrivalRatePerSecond;
+    private final Duration rampUp;
+    private final Duration duration;
+
+    public LoadProfile(double arrivalRatePerSecond, Duration rampUp, Duration duration) {
+        if (arrivalRatePerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + arrivalRatePerSecond);
+        }
+        this.arrivalRatePerSecond = arrivalRatePerSecond;
+        this.rampUp = rampUp;
+        this.duration = duration;
+    }
+
+    /**
+     * Construye el perfil a partir de load.rate, load.ramp.seconds y load.duration.seconds
+     * @return perfil configurado
+     */
+    public static LoadProfile fromConfiguration() {
+        return new LoadProfile(TestConfiguration.getLoadArrivalRate(),
+            Duration.ofSeconds(TestConfiguration.getLoadRampSeconds()),
+            Duration.ofSeconds(TestConfiguration.getLoadDurationSeconds()));
+    }
+
+    /**
+     * Instante de llegada del usuario número {@code index} (desde 0)
+     * Durante la rampa la tasa crece linealmente desde cero, así que las llegadas acumuladas son
+     * rate·t²/(2·rampa); después se suman a tasa constante
+     * @param index número de usuario
+     * @return nanosegundos desde el inicio de la prueba
+     */
+    public long arrivalNanos(long index) {
+        double rampSeconds = rampUp.toNanos() / 1e9;
+        double rampArrivals = arrivalRatePerSecond * rampSeconds / 2;
+        double seconds = index < rampArrivals
+            ? Math.sqrt(2 * rampSeconds * index / arrivalRatePerSecond)
+            : rampSeconds + (index - rampArrivals) / arrivalRatePerSecond;
+        return (long) (seconds * 1e9);
+    }
+
+    public double getArrivalRatePerSecond() { return arrivalRatePerSecond; }
+    public Duration getRampUp() { return rampUp; }
+    public Duration getDuration() { return duration; }
+
+    @Override
+    public String toString() {
+        return String.format("LoadProfile{rate=%.1f/s, rampUp=%ds, duration=%ds}",
+            arrivalRatePerSecond, rampUp.getSeconds(), duration.getSeconds());
+    }
+}
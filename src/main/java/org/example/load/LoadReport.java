@@ -0,0 +1,130 @@
+package org.example.load;
+
+import org.example.metrics.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultado de una ejecución de carga: latencias, errores y throughput por endpoint y recorridos completados
+ */
+public class LoadReport {
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder completedJourneys = new LongAdder();
+    private final LongAdder failedJourneys = new LongAdder();
+    private volatile long elapsedNanos;
+    private volatile String executorType = "";
+
+    void recordCall(String endpoint, long nanos, boolean failed) {
+        latencies.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record(nanos);
+        if (failed) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    void recordJourney(boolean completed) {
+        (completed ? completedJourneys : failedJourneys).increment();
+    }
+
+    void finish(long elapsedNanos, String executorType) {
+        this.elapsedNanos = elapsedNanos;
+        this.executorType = executorType;
+    }
+
+    public long getCompletedJourneys() { return completedJourneys.sum(); }
+    public long getFailedJourneys() { return failedJourneys.sum(); }
+    public double getElapsedSeconds() { return elapsedNanos / 1_000_000_000.0; }
+    public String getExecutorType() { return executorType; }
+
+    /**
+     * Estadísticas de un endpoint
+     * @param endpoint nombre del endpoint (entries, bycat, view, addtocart, viewcart, deletecart)
+     * @return estadísticas, o null si no se llamó
+     */
+    public EndpointStats getEndpointStats(String endpoint) {
+        LatencyHistogram histogram = latencies.get(endpoint);
+        if (histogram == null) {
+            return null;
+        }
+        LongAdder endpointErrors = errors.get(endpoint);
+        double seconds = getElapsedSeconds();
+        return new EndpointStats(endpoint, histogram.getCount(), endpointErrors == null ? 0 : endpointErrors.sum(),
+            seconds > 0 ? histogram.getCount() / seconds : 0.0,
+            histogram.getPercentileNanos(50) / 1_000_000.0,
+            histogram.getPercentileNanos(95) / 1_000_000.0,
+            histogram.getPercentileNanos(99) / 1_000_000.0,
+            histogram.getMaxNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Estadísticas de todos los endpoints en el orden en que se llamaron por primera vez
+     * @return mapa endpoint → estadísticas
+     */
+    public Map<String, EndpointStats> getAllEndpointStats() {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String endpoint : PurchaseJourney.ENDPOINTS) {
+            EndpointStats endpointStats = getEndpointStats(endpoint);
+            if (endpointStats != null) {
+                stats.put(endpoint, endpointStats);
+            }
+        }
+        return stats;
+    }
+
+    public String toSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Journeys: %d completed, %d failed in %.1fs (%s threads)%n",
+            getCompletedJourneys(), getFailedJourneys(), getElapsedSeconds(), executorType));
+        summary.append(String.format("%-11s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "calls", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointStats stats : getAllEndpointStats().values()) {
+            summary.append(String.format("%-11s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                stats.getEndpoint(), stats.getCalls(), stats.getErrors(), stats.getThroughputPerSecond(),
+                stats.getP50Millis(), stats.getP95Millis(), stats.getP99Millis(), stats.getMaxMillis()));
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoadReport{completed=%d, failed=%d, elapsed=%.1fs}",
+            getCompletedJourneys(), getFailedJourneys(), getElapsedSeconds());
+    }
+
+    // Latencias y throughput de un endpoint
+    public static class EndpointStats {
+        private final String endpoint;
+        private final long calls;
+        private final long errors;
+        private final double throughputPerSecond;
+        private final double p50Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        public EndpointStats(String endpoint, long calls, long errors, double throughputPerSecond,
+                             double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+            this.endpoint = endpoint;
+            this.calls = calls;
+            this.errors = errors;
+            this.throughputPerSecond = throughputPerSecond;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public String getEndpoint() { return endpoint; }
+        public long getCalls() { return calls; }
+        public long getErrors() { return errors; }
+        public double getThroughputPerSecond() { return throughputPerSecond; }
+        public double getP50Millis() { return p50Millis; }
+        public double getP95Millis() { return p95Millis; }
+        public double getP99Millis() { return p99Millis; }
+        public double getMaxMillis() { return maxMillis; }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.load;
+
+import org.example.api.DemoblazeApiClient;
+import org.example.config.TestConfiguration;
+import org.example.utils.TestDataProvider;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Recorrido de compra de CompraTest repetido como llamadas HTTP directas, sin navegador:
+ * inicio (entries), categoría (bycat), ver y agregar dos productos (view, addtocart), carrito (viewcart)
+ * y compra (deletecart, que es lo que hace el sitio al confirmar el pedido)
+ */
+public class PurchaseJourney implements Runnable {
+
+    static final List<String> ENDPOINTS = List.of("entries", "bycat", "view", "addtocart", "viewcart", "deletecart");
+
+    private final DemoblazeApiClient api;
+    private final LoadReport report;
+
+    public PurchaseJourney(DemoblazeApiClient api, LoadReport report) {
+        this.api = api;
+        this.report = report;
+    }
+
+    @Override
+    public void run() {
+        // Cada usuario virtual es un visitante anónimo con su propio carrito
+        String sessionCookie = UUID.randomUUID().toString();
+        boolean completed = false;
+        try {
+            timed("entries", api::entries);
+            List<DemoblazeApiClient.Product> products = timed("bycat",
+                () -> api.productsByCategory(TestConfiguration.LoadTest.JOURNEY_CATEGORY));
+            if (products.size() < 2) {
+                throw new IllegalStateException("Journey needs two products in category "
+                    + TestConfiguration.LoadTest.JOURNEY_CATEGORY + " but found " + products.size());
+            }
+            for (DemoblazeApiClient.Product product : products.subList(0, 2)) {
+                timed("view", () -> api.viewProduct(product.getId()));
+                timed("addtocart", () -> api.addToCart(sessionCookie, product.getId()));
+            }
+            List<DemoblazeApiClient.CartItem> cart = timed("viewcart", () -> api.viewCart(sessionCookie));
+            if (cart.size() != 2) {
+                throw new IllegalStateException("Expected 2 items in cart but found " + cart.size());
+            }
+            placeOrder(sessionCookie);
+            completed = true;
+        } catch (RuntimeException e) {
+            // El error ya quedó contado en el endpoint que falló; el recorrido se marca como fallido
+        } finally {
+            report.recordJourney(completed);
+        }
+    }
+
+    private void placeOrder(String sessionCookie) {
+        // Misma validación que hace el sitio antes de confirmar: nombre y tarjeta obligatorios
+        if (TestDataProvider.getCustomerName().isEmpty() || TestDataProvider.getCreditCard().isEmpty()) {
+            throw new IllegalStateException("Please fill out Name and Creditcard.");
+        }
+        timed("deletecart", () -> {
+            api.deleteCart(sessionCookie);
+            return null;
+        });
+    }
+
+    private <T> T timed(String endpoint, Supplier<T> call) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            report.recordCall(endpoint, System.nanoTime() - start, failed);
+        }
+    }
+}
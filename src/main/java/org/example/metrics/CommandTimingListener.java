@@ -0,0 +1,71 @@
+package org.example.metrics;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Listener de WebDriver que cronometra cada comando y lo agrupa por tipo
+ * (findElement, click, executeScript, alert, navigation...) en SuiteMetrics
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        stop(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        stop(target, method);
+    }
+
+    /**
+     * Agrupa los métodos de Selenium en los tipos de comando que se reportan
+     * @param target objeto sobre el que se invocó el método (driver, elemento, alerta...)
+     * @param method método invocado
+     * @return tipo de comando
+     */
+    static String commandType(Object target, Method method) {
+        if (target instanceof Alert) {
+            return "alert";
+        }
+        switch (method.getName()) {
+            case "findElement":
+            case "findElements":
+                return "findElement";
+            case "executeScript":
+            case "executeAsyncScript":
+                return "executeScript";
+            case "alert":
+                return "alert";
+            case "get":
+            case "to":
+            case "back":
+            case "forward":
+            case "refresh":
+                return "navigation";
+            default:
+                return method.getName();
+        }
+    }
+
+    private void stop(Object target, Method method) {
+        Deque<Long> starts = startTimes.get();
+        if (starts.isEmpty()) {
+            return;
+        }
+        SuiteMetrics.record(SuiteMetrics.Category.COMMAND, commandType(target, method), System.nanoTime() - starts.pop());
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Muestra uniforme de tamaño fijo de las duraciones de una operación (algoritmo R de Vitter)
+ * Las pruebas estadísticas del histórico necesitan valores individuales y no solo percentiles; con la reserva
+ * la memoria por operación queda acotada aunque se ejecute miles de veces
+ */
+public class SampleReservoir {
+
+    private final long[] samples;
+    private long seen;
+
+    public SampleReservoir(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long nanos) {
+        if (seen < samples.length) {
+            samples[(int) seen] = nanos;
+        } else {
+            long slot = ThreadLocalRandom.current().nextLong(seen + 1);
+            if (slot < samples.length) {
+                samples[(int) slot] = nanos;
+            }
+        }
+        seen++;
+    }
+
+    public synchronized long getSeen() {
+        return seen;
+    }
+
+    /**
+     * Copia de las muestras guardadas
+     * @return duraciones en nanosegundos (como mucho la capacidad de la reserva)
+     */
+    public synchronized long[] getSamples() {
+        return Arrays.copyOf(samples, (int) Math.min(seen, samples.length));
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de latencias de la suite: @Step de tareas, métodos de página, comandos de WebDriver, esperas y escenarios
+ * Al final de la ejecución se vuelca como texto de exposición de Prometheus y como JSON
+ */
+public class SuiteMetrics {
+
+    public static final String PROMETHEUS_FILE = "latency.prom";
+    public static final String JSON_FILE = "latency.json";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    private static final int RESERVOIR_SIZE = 512;
+    // Tope de series con muestras por categoría: acota la memoria si aparecen nombres no previstos
+    private static final int MAX_SAMPLED_SERIES = 256;
+    private static final Map<Category, Map<String, LatencyHistogram>> HISTOGRAMS = new EnumMap<>(Category.class);
+    // Muestras individuales (acotadas) para el histórico de tiempos entre ejecuciones
+    private static final Map<Category, Map<String, SampleReservoir>> SAMPLES = new EnumMap<>(Category.class);
+
+    static {
+        for (Category category : Category.values()) {
+            HISTOGRAMS.put(category, new ConcurrentHashMap<>());
+            SAMPLES.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    private SuiteMetrics() {
+    }
+
+    /**
+     * Registra una duración
+     * @param category tipo de operación medida
+     * @param name nombre de la operación (por ejemplo "NavigationTask.navigateToHomePage" o "click")
+     * @param nanos duración en nanosegundos
+     */
+    public static void record(Category category, String name, long nanos) {
+        HISTOGRAMS.get(category).computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+        Map<String, SampleReservoir> samples = SAMPLES.get(category);
+        SampleReservoir reservoir = samples.get(name);
+        if (reservoir == null && samples.size() < MAX_SAMPLED_SERIES) {
+            reservoir = samples.computeIfAbsent(name, key -> new SampleReservoir(RESERVOIR_SIZE));
+        }
+        if (reservoir != null) {
+            reservoir.record(nanos);
+        }
+    }
+
+    /**
+     * Muestras individuales de una categoría, ordenadas por nombre
+     * @param category tipo de operación
+     * @return nombre → duraciones en nanosegundos (muestra uniforme de como mucho 512 valores por nombre y 256 nombres)
+     */
+    public static Map<String, long[]> getSamples(Category category) {
+        Map<String, long[]> samples = new TreeMap<>();
+        SAMPLES.get(category).forEach((name, reservoir) -> samples.put(name, reservoir.getSamples()));
+        return samples;
+    }
+
+    /**
+     * Histogramas de una categoría, ordenados por nombre
+     * @param category tipo de operación
+     * @return copia del mapa nombre → histograma
+     */
+    public static Map<String, LatencyHistogram> getHistograms(Category category) {
+        return new TreeMap<>(HISTOGRAMS.get(category));
+    }
+
+    public static boolean isEmpty() {
+        return HISTOGRAMS.values().stream().allMatch(Map::isEmpty);
+    }
+
+    /**
+     * Genera el texto de exposición de Prometheus (un summary por categoría más un gauge con el máximo)
+     * @return texto en formato 0.0.4
+     */
+    public static String toPrometheusText() {
+        StringBuilder text = new StringBuilder();
+        for (Category category : Category.values()) {
+            Map<String, LatencyHistogram> histograms = getHistograms(category);
+            if (histograms.isEmpty()) {
+                continue;
+            }
+            String metric = category.getMetricName();
+            text.append("# HELP ").append(metric).append(' ').append(category.getHelp()).append('\n');
+            text.append("# TYPE ").append(metric).append(" summary\n");
+            for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+                String label = category.getLabel() + "=\"" + escapeLabel(entry.getKey()) + "\"";
+                LatencyHistogram histogram = entry.getValue();
+                for (double quantile : QUANTILES) {
+                    text.append(metric).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getPercentileNanos(quantile * 100))).append('\n');
+                }
+                text.append(metric).append("_sum{").append(label).append("} ").append(seconds(histogram.getTotalNanos())).append('\n');
+                text.append(metric).append("_count{").append(label).append("} ").append(histogram.getCount()).append('\n');
+            }
+            text.append("# HELP ").append(metric).append("_max Maximum observed duration\n");
+            text.append("# TYPE ").append(metric).append("_max gauge\n");
+            for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+                text.append(metric).append("_max{").append(category.getLabel()).append("=\"").append(escapeLabel(entry.getKey()))
+                    .append("\"} ").append(seconds(entry.getValue().getMaxNanos())).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Genera el resumen en JSON: categoría → nombre → count, mean, p50, p95, p99 y max en milisegundos
+     * @return documento JSON
+     */
+    public static String toJson() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        for (Category category : Category.values()) {
+            Map<String, Object> entries = new LinkedHashMap<>();
+            for (Map.Entry<String, LatencyHistogram> entry : getHistograms(category).entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("count", histogram.getCount());
+                summary.put("meanMs", millis((long) histogram.getMeanNanos()));
+                summary.put("p50Ms", millis(histogram.getPercentileNanos(50)));
+                summary.put("p95Ms", millis(histogram.getPercentileNanos(95)));
+                summary.put("p99Ms", millis(histogram.getPercentileNanos(99)));
+                summary.put("maxMs", millis(histogram.getMaxNanos()));
+                entries.put(entry.getKey(), summary);
+            }
+            document.put(category.getLabel(), entries);
+        }
+        return new Json().toJson(document);
+    }
+
+    /**
+     * Escribe latency.prom y latency.json en el directorio indicado
+     * @param directory directorio de salida (se crea si no existe)
+     */
+    public static void exportTo(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(PROMETHEUS_FILE), toPrometheusText().getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve(JSON_FILE), toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing latency metrics to " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Descarta todas las muestras registradas
+     */
+    public static void reset() {
+        HISTOGRAMS.values().forEach(Map::clear);
+        SAMPLES.values().forEach(Map::clear);
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000_000.0);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    // Tipos de operación medidos, cada uno exportado como una métrica distinta
+    public enum Category {
+        STEP("step", "demoblaze_step_duration_seconds", "Duration of task @Step methods"),
+        PAGE("page", "demoblaze_page_method_duration_seconds", "Duration of page object @Step methods"),
+        COMMAND("command", "demoblaze_webdriver_command_duration_seconds", "Duration of WebDriver commands by type"),
+        WAIT("wait", "demoblaze_wait_duration_seconds", "Time spent in WaitEngine conditions"),
+        SCENARIO("scenario", "demoblaze_scenario_duration_seconds", "Duration of each test method");
+
+        private final String label;
+        private final String metricName;
+        private final String help;
+
+        Category(String label, String metricName, String help) {
+            this.label = label;
+            this.metricName = metricName;
+            this.help = help;
+        }
+
+        public String getLabel() { return label; }
+        public String getMetricName() { return metricName; }
+        public String getHelp() { return help; }
+    }
+}
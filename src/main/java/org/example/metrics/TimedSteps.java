@@ -0,0 +1,90 @@
+package org.example.metrics;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.serenitybdd.annotations.Step;
+import net.serenitybdd.core.pages.PageObject;
+import org.example.retry.RetryableStep;
+import org.example.retry.StepRetry;
+import org.example.screenshots.ScreenshotPipeline;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+
+/**
+ * Crea tareas y páginas cuyos métodos @Step registran su duración en SuiteMetrics
+ * Genera (una vez por clase) una subclase que envuelve cada @Step público con un cronómetro;
+ * los métodos de páginas se registran como PAGE y los de tareas como STEP.
+ * Los marcados con @RetryableStep se repiten además ante errores transitorios (ver StepRetry), y al terminar
+ * cada paso se entrega la captura de pantalla al ScreenshotPipeline según su política
+ */
+public class TimedSteps {
+
+    private static final Map<Class<?>, Class<?>> TIMED_CLASSES = new ConcurrentHashMap<>();
+
+    private TimedSteps() {
+    }
+
+    /**
+     * Instancia la clase indicada con sus @Step cronometrados
+     * @param type tarea o página con constructor (WebDriver)
+     * @param driver driver de la sesión
+     * @return instancia instrumentada, usable como la clase original
+     */
+    public static <T> T create(Class<T> type, WebDriver driver) {
+        try {
+            return type.cast(TIMED_CLASSES.computeIfAbsent(type, TimedSteps::subclass)
+                .getConstructor(WebDriver.class)
+                .newInstance(driver));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Error creating " + type.getSimpleName() + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Error instrumenting " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Class<?> subclass(Class<?> type) {
+        return new ByteBuddy()
+            .subclass(type)
+            .method(isPublic().and(isAnnotatedWith(Step.class)))
+            .intercept(MethodDelegation.to(StepTimer.class))
+            .make()
+            .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+            .getLoaded();
+    }
+
+    // Interceptor de ByteBuddy: debe ser público para que la subclase generada pueda invocarlo
+    public static class StepTimer {
+
+        @RuntimeType
+        public static Object time(@Origin Method method, @SuperCall Callable<?> step) throws Exception {
+            Class<?> declaringClass = method.getDeclaringClass();
+            String name = declaringClass.getSimpleName() + "." + method.getName();
+            boolean page = PageObject.class.isAssignableFrom(declaringClass);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.isAnnotationPresent(RetryableStep.class) ? StepRetry.call(name, step) : step.call();
+            } finally {
+                SuiteMetrics.record(page ? SuiteMetrics.Category.PAGE : SuiteMetrics.Category.STEP, name, System.nanoTime() - start);
+            }
+            // Fuera del cronómetro: el coste de la captura no se mezcla con la latencia del paso
+            ScreenshotPipeline.getInstance().afterStep(!page, name);
+            return result;
+        }
+    }
+}
@@ -3,21 +3,56 @@ package org.example.pages;
 import net.serenitybdd.annotations.Step;
 import net.serenitybdd.core.pages.PageObject;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.example.api.DemoblazeApiClient;
+import org.example.utils.BrowserScripts;
 import org.example.utils.LocatorManager;
-import java.time.Duration;
+import org.example.utils.WaitEngine;
 import java.util.List;
+import java.util.Map;
 
-public class CartPage extends PageObject {
+public class CartPage extends PageObject implements ReadinessContract {
 
     // All locators are now managed through LocatorManager - @FindBy annotations removed
 
-    private WebDriverWait wait;
+    private WaitEngine wait;
+
+    public CartPage() {
+        super();
+    }
+
+    public CartPage(WebDriver driver) {
+        super(driver);
+    }
 
     public void initializeWait() {
-        wait = new WebDriverWait(getDriver(), Duration.ofSeconds(10));
+        wait = WaitEngine.forDriver(getDriver());
+    }
+
+    // Lista: tabla, total y botón presentes; con filas, el total calculado y sin peticiones en curso;
+    // vacía, cuando /viewcart ya respondió (contador instalado en cada documento por el DriverPool)
+    private static final String CART_READY_SCRIPT =
+        "if (window.__navigatingAway) { return false; }" +
+        "var body = document.querySelector(arguments[0]);" +
+        "var total = document.getElementById(arguments[2]);" +
+        "if (!body || !total || !document.querySelector(arguments[3])) { return false; }" +
+        "var idle = window.__pendingRequests === undefined || window.__pendingRequests === 0;" +
+        "if (document.querySelectorAll(arguments[1]).length > 0) {" +
+        "  return idle && (total.textContent || '').trim() !== '';" +
+        "}" +
+        "return window.__requestsStarted === undefined || (window.__requestsStarted > 0 && idle);";
+
+    @Override
+    public ExpectedCondition<Boolean> readiness() {
+        return driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(CART_READY_SCRIPT,
+            LocatorManager.getCartpageTableBody(),
+            LocatorManager.getCartpageTableRows(),
+            LocatorManager.getCartpageTotalPrice(),
+            LocatorManager.getCartpagePlaceOrderButton()));
     }
 
     @Step("Wait for cart page to load")
@@ -25,27 +60,56 @@ public class CartPage extends PageObject {
         if (wait == null) {
             initializeWait();
         }
-        
-        // Wait for "Products" text to be present on the page
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(By.cssSelector("body"), "Products"));
-        
-        // Wait for cart table and essential elements using LocatorManager
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(LocatorManager.getCartpageTableBody())));
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(LocatorManager.getCartpagePlaceOrderButton())));
-        
-        // Wait for total price element using LocatorManager
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id(LocatorManager.getCartpageTotalPrice())));
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(LocatorManager.getCartpageTotalPrice())));
+        // Cart table rendered and total computed, without waiting for the rest of the page;
+        // skipped when already satisfied on this document and no request has gone out since
+        ReadinessCache.await(getDriver(), "CartPage readiness", () -> wait.until(readiness(), "CartPage readiness"));
     }
 
-    @Step("Get number of items in cart")
-    public int getCartItemsCount() {
+    // Lee nombres, precios, ids de borrado y total en un único viaje al navegador: una entrada por fila de
+    // cartpage.table.rows, con sus celdas buscadas con querySelector de la fila: el localizador completo
+    // (p. ej. "#tbodyid tr td:nth-child(2)") se evalúa contra el documento y solo devuelve descendientes de esa fila
+    private static final String CART_SNAPSHOT_SCRIPT =
+        "var text = function (el) { return el ? (el.innerText || el.textContent || '').trim() : ''; };" +
+        "var tableRows = document.querySelectorAll(arguments[0]);" +
+        "var rows = [];" +
+        "for (var i = 0; i < tableRows.length; i++) {" +
+        "  var remove = tableRows[i].querySelector(arguments[3]);" +
+        "  var onclick = remove ? (remove.getAttribute('onclick') || '') : '';" +
+        "  var match = onclick.match(/deleteItem\\('([^']+)'\\)/);" +
+        "  rows.push({name: text(tableRows[i].querySelector(arguments[1])), price: text(tableRows[i].querySelector(arguments[2]))," +
+        "    deleteId: match ? match[1] : null});" +
+        "}" +
+        "return {rows: rows, total: text(document.getElementById(arguments[4]))};";
+
+    // Estado mínimo para esperar a que termine un borrado: filas actuales y peticiones en curso
+    private static final String CART_ROWS_STATE_SCRIPT =
+        "return {rows: document.querySelectorAll(arguments[0]).length, pending: window.__pendingRequests || 0};";
+
+    @Step("Read cart snapshot")
+    public CartSnapshot takeSnapshot() {
+        Object result = ((JavascriptExecutor) getDriver()).executeScript(CART_SNAPSHOT_SCRIPT,
+            LocatorManager.getCartpageTableRows(),
+            LocatorManager.getCartpageProductNames(),
+            LocatorManager.getCartpageProductPrices(),
+            LocatorManager.getCartpageDeleteButtons(),
+            LocatorManager.getCartpageTotalPrice());
+        return CartSnapshot.fromScriptResult(result);
+    }
+
+    // The total is filled in after the rows; wait for it like the element-based reads did
+    private CartSnapshot takeSnapshotWithTotal() {
         if (wait == null) {
             initializeWait();
         }
-        List<WebElement> cartItemElements = getDriver().findElements(By.cssSelector(LocatorManager.getCartpageTableRows()));
-        wait.until(ExpectedConditions.visibilityOfAllElements(cartItemElements));
-        return cartItemElements.size();
+        return wait.until(driver -> {
+            CartSnapshot snapshot = takeSnapshot();
+            return snapshot.hasTotal() ? snapshot : null;
+        }, "CartPage total displayed");
+    }
+
+    @Step("Get number of items in cart")
+    public int getCartItemsCount() {
+        return takeSnapshot().getItemCount();
     }
 
     @Step("Get product count in cart")
@@ -55,71 +119,50 @@ public class CartPage extends PageObject {
 
     @Step("Get product names in cart")
     public List<String> getProductNamesInCart() {
-        if (wait == null) {
-            initializeWait();
-        }
-        List<WebElement> productNameElements = getDriver().findElements(By.cssSelector(LocatorManager.getCartpageProductNames()));
-        wait.until(ExpectedConditions.visibilityOfAllElements(productNameElements));
-        return productNameElements.stream()
-                .map(element -> element.getText().trim())
-                .collect(java.util.stream.Collectors.toList());
+        return takeSnapshot().getProductNames();
     }
 
     @Step("Get product prices in cart")
     public List<String> getProductPricesInCart() {
-        if (wait == null) {
-            initializeWait();
-        }
-        List<WebElement> productPriceElements = getDriver().findElements(By.cssSelector(LocatorManager.getCartpageProductPrices()));
-        wait.until(ExpectedConditions.visibilityOfAllElements(productPriceElements));
-        return productPriceElements.stream()
-                .map(element -> element.getText().trim())
-                .collect(java.util.stream.Collectors.toList());
+        return takeSnapshot().getProductPrices();
     }
 
     @Step("Get total price displayed")
     public String getTotalPrice() {
-        if (wait == null) {
-            initializeWait();
-        }
-        WebElement totalPriceElement = getDriver().findElement(By.id(LocatorManager.getCartpageTotalPrice()));
-        wait.until(ExpectedConditions.visibilityOf(totalPriceElement));
-        return totalPriceElement.getText().trim();
+        return takeSnapshotWithTotal().getTotalText();
     }
 
     @Step("Get total price as number")
     public double getTotalPriceAsNumber() {
-        String totalText = getTotalPrice();
-        return Double.parseDouble(totalText);
+        return takeSnapshotWithTotal().getTotalAsNumber();
+    }
+
+    @Step("Get total price in minor units")
+    public long getTotalPriceMinorUnits() {
+        return takeSnapshotWithTotal().getTotalMinorUnits();
     }
 
     @Step("Calculate expected total from individual prices")
     public double calculateExpectedTotal() {
-        List<String> prices = getProductPricesInCart();
-        return prices.stream()
-                .mapToDouble(price -> Double.parseDouble(price))
-                .sum();
+        return takeSnapshot().getPricesSum();
     }
 
     @Step("Validate that product {0} is in cart")
     public boolean isProductInCart(String productName) {
-        List<String> productsInCart = getProductNamesInCart();
-        return productsInCart.contains(productName);
+        return takeSnapshot().containsProduct(productName);
     }
 
     @Step("Validate that both products {0} and {1} are in cart")
     public boolean areBothProductsInCart(String product1, String product2) {
-        List<String> productsInCart = getProductNamesInCart();
-        return productsInCart.contains(product1) && productsInCart.contains(product2);
+        CartSnapshot snapshot = takeSnapshot();
+        return snapshot.containsProduct(product1) && snapshot.containsProduct(product2);
     }
 
     @Step("Validate individual prices sum equals total price")
     public boolean validateIndividualPricesSumEqualsTotal() {
         try {
-            double calculatedTotal = calculateExpectedTotal();
-            double displayedTotal = getTotalPriceAsNumber();
-            // Permitir pequeña diferencia por redondeo
-            return Math.abs(calculatedTotal - displayedTotal) < 0.01;
+            // Total y precios salen de la misma foto, así no pueden quedar desincronizados
+            return takeSnapshotWithTotal().isTotalCorrect();
         } catch (Exception e) {
             return false;
         }
@@ -132,9 +175,7 @@ public class CartPage extends PageObject {
 
     @Step("Validate total price matches sum of individual prices")
     public boolean isTotalPriceCorrect() {
-        double displayedTotal = getTotalPriceAsNumber();
-        double expectedTotal = calculateExpectedTotal();
-        return Math.abs(displayedTotal - expectedTotal) < 0.01; // Allow for small floating point differences
+        return takeSnapshotWithTotal().isTotalCorrect();
     }
 
     @Step("Click Place Order button")
@@ -146,19 +187,55 @@ public class CartPage extends PageObject {
 
     @Step("Remove product from cart by index {0}")
     public void removeProductByIndex(int index) {
+        if (wait == null) {
+            initializeWait();
+        }
         List<WebElement> deleteButtonElements = getDriver().findElements(By.cssSelector(LocatorManager.getCartpageDeleteButtons()));
         if (index < deleteButtonElements.size()) {
+            int rowsBefore = deleteButtonElements.size();
+            BrowserScripts.installNetworkTracker(getDriver());
             wait.until(ExpectedConditions.elementToBeClickable(deleteButtonElements.get(index)));
             deleteButtonElements.get(index).click();
-            // Wait for the item to be removed
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // Wait for the /deleteitem request and the cart re-render instead of a fixed sleep
+            waitForRowCountBelow(rowsBefore);
         }
     }
 
+    @Step("Clear cart")
+    public void clearCart() {
+        if (wait == null) {
+            initializeWait();
+        }
+        CartSnapshot snapshot = takeSnapshot();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        if (!snapshot.getDeleteIds().contains(null)) {
+            // Batched pass: all /deleteitem calls go out in parallel, then a single reload
+            new DemoblazeApiClient().deleteItems(snapshot.getDeleteIds());
+            // Until the reload replaces it, the old document still shows the rows (or none, before /viewcart)
+            BrowserScripts.markNavigationStart(getDriver());
+            getDriver().navigate().refresh();
+            // Only a loaded cart (/viewcart answered, no requests in flight) can prove it is empty
+            waitForCartPageToLoad();
+            wait.until(driver -> takeSnapshot().isEmpty(), "CartPage empty after clear");
+            return;
+        }
+        // Fallback when the delete ids cannot be read from the links: remove through the UI
+        for (int remaining = snapshot.getItemCount(); remaining > 0; remaining--) {
+            removeProductByIndex(0);
+        }
+    }
+
+    private void waitForRowCountBelow(int rowsBefore) {
+        wait.until(driver -> {
+            Map<?, ?> state = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(CART_ROWS_STATE_SCRIPT,
+                LocatorManager.getCartpageTableRows());
+            return ((Number) state.get("pending")).longValue() == 0
+                && ((Number) state.get("rows")).intValue() < rowsBefore;
+        }, "CartPage row removed");
+    }
+
     @Step("Navigate back to home")
     public void navigateBackToHome() {
         WebElement homeLinkElement = getDriver().findElement(By.linkText(LocatorManager.getCartpageHomeLink()));
@@ -193,16 +270,6 @@ public class CartPage extends PageObject {
 
     @Step("Get product details for validation")
     public String getCartSummary() {
-        StringBuilder summary = new StringBuilder();
-        List<String> names = getProductNamesInCart();
-        List<String> prices = getProductPricesInCart();
-        
-        for (int i = 0; i < names.size(); i++) {
-            summary.append(String.format("Product %d: %s - %s\n", 
-                i + 1, names.get(i), prices.get(i)));
-        }
-        summary.append(String.format("Total: %s", getTotalPrice()));
-        
-        return summary.toString();
+        return takeSnapshot().toSummary();
     }
 }
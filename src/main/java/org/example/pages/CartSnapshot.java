@@ -0,0 +1,160 @@
+package org.example.pages;
+
+import org.example.utils.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Foto inmutable del carrito leída en un único executeScript
+ * Todas las consultas de CartPage y CartValidationTask se responden desde aquí sin volver al navegador
+ */
+public final class CartSnapshot {
+
+    private final List<Row> rows;
+    private final String totalText;
+
+    public CartSnapshot(List<Row> rows, String totalText) {
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+        this.totalText = totalText == null ? "" : totalText;
+    }
+
+    /**
+     * Construye la foto a partir del resultado del script de lectura del carrito
+     * @param scriptResult mapa con "rows" (name, price, deleteId; una por fila de la tabla) y "total"
+     * @return foto del carrito
+     */
+    @SuppressWarnings("unchecked")
+    static CartSnapshot fromScriptResult(Object scriptResult) {
+        Map<String, Object> result = (Map<String, Object>) scriptResult;
+        List<Row> rows = new ArrayList<>();
+        for (Map<String, Object> row : (List<Map<String, Object>>) result.get("rows")) {
+            rows.add(new Row(asText(row.get("name")), asText(row.get("price")), (String) row.get("deleteId")));
+        }
+        return new CartSnapshot(rows, asText(result.get("total")));
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public int getItemCount() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    public List<String> getProductNames() {
+        return rows.stream().map(Row::getName).collect(Collectors.toList());
+    }
+
+    public List<String> getProductPrices() {
+        return rows.stream().map(Row::getPrice).collect(Collectors.toList());
+    }
+
+    public List<String> getDeleteIds() {
+        return rows.stream().map(Row::getDeleteId).collect(Collectors.toList());
+    }
+
+    public boolean containsProduct(String productName) {
+        return rows.stream().anyMatch(row -> row.getName().equals(productName));
+    }
+
+    public String getTotalText() {
+        return totalText;
+    }
+
+    /**
+     * Indica si la página ya muestra el total (Demoblaze lo deja vacío con el carrito vacío o aún calculándose)
+     * @return true si hay texto de total
+     */
+    public boolean hasTotal() {
+        return !totalText.isEmpty();
+    }
+
+    public double getTotalAsNumber() {
+        return Money.toUnits(getTotalMinorUnits());
+    }
+
+    public double getPricesSum() {
+        return Money.toUnits(getPricesSumMinorUnits());
+    }
+
+    /**
+     * Total mostrado en el carrito
+     * @return importe en centavos
+     * @throws IllegalStateException si la foto se tomó antes de que la página mostrara el total
+     */
+    public long getTotalMinorUnits() {
+        if (!hasTotal()) {
+            throw new IllegalStateException("Cart total is not displayed (" + rows.size() + " rows in snapshot)");
+        }
+        return Money.parseMinorUnits(totalText);
+    }
+
+    /**
+     * Suma exacta de los precios de las filas, sin cadenas intermedias ni coma flotante
+     * @return importe en centavos
+     */
+    public long getPricesSumMinorUnits() {
+        long sum = 0;
+        for (Row row : rows) {
+            sum = Math.addExact(sum, Money.parseMinorUnits(row.getPrice()));
+        }
+        return sum;
+    }
+
+    /**
+     * Compara el total mostrado con la suma de los precios de las filas
+     * @return true si coinciden al centavo; false si la página aún no muestra el total
+     */
+    public boolean isTotalCorrect() {
+        return hasTotal() && getTotalMinorUnits() == getPricesSumMinorUnits();
+    }
+
+    public String toSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < rows.size(); i++) {
+            summary.append(String.format("Product %d: %s - %s\n",
+                i + 1, rows.get(i).getName(), rows.get(i).getPrice()));
+        }
+        summary.append(String.format("Total: %s", totalText));
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CartSnapshot{items=%d, total='%s'}", rows.size(), totalText);
+    }
+
+    private static String asText(Object value) {
+        return value == null ? "" : value.toString().trim();
+    }
+
+    // Fila del carrito: nombre, precio e id de la entrada que usa el enlace Delete
+    public static final class Row {
+        private final String name;
+        private final String price;
+        private final String deleteId;
+
+        public Row(String name, String price, String deleteId) {
+            this.name = name;
+            this.price = price;
+            this.deleteId = deleteId;
+        }
+
+        public String getName() { return name; }
+        public String getPrice() { return price; }
+        public String getDeleteId() { return deleteId; }
+
+        @Override
+        public String toString() {
+            return String.format("Row{name='%s', price='%s'}", name, price);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado de los campos del formulario de compra (#orderModal) leído en un único executeScript:
+ * visibilidad, si se pueden editar y su valor actual
+ */
+public final class CheckoutFormState {
+
+    private final boolean modalVisible;
+    private final boolean filled;
+    private final List<Field> fields;
+
+    public CheckoutFormState(boolean modalVisible, boolean filled, List<Field> fields) {
+        this.modalVisible = modalVisible;
+        this.filled = filled;
+        this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+    }
+
+    /**
+     * Construye el estado a partir del resultado del script del formulario
+     * @param scriptResult mapa con "modalVisible", "filled" y "fields" (id, visible, editable, value)
+     * @return estado del formulario
+     */
+    @SuppressWarnings("unchecked")
+    static CheckoutFormState fromScriptResult(Object scriptResult) {
+        Map<String, Object> result = (Map<String, Object>) scriptResult;
+        List<Field> fields = new ArrayList<>();
+        for (Map<String, Object> field : (List<Map<String, Object>>) result.get("fields")) {
+            fields.add(new Field(String.valueOf(field.get("id")), Boolean.TRUE.equals(field.get("visible")),
+                Boolean.TRUE.equals(field.get("editable")), field.get("value") == null ? null : field.get("value").toString()));
+        }
+        return new CheckoutFormState(Boolean.TRUE.equals(result.get("modalVisible")),
+            Boolean.TRUE.equals(result.get("filled")), fields);
+    }
+
+    public boolean isModalVisible() {
+        return modalVisible;
+    }
+
+    /**
+     * Indica si el script escribió los valores (solo lo hace con todos los campos visibles y editables)
+     * @return true si el formulario quedó relleno en esta llamada
+     */
+    public boolean isFilled() {
+        return filled;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    public boolean areAllFieldsVisible() {
+        return !fields.isEmpty() && fields.stream().allMatch(Field::isVisible);
+    }
+
+    public boolean areAllFieldsEditable() {
+        return !fields.isEmpty() && fields.stream().allMatch(Field::isEditable);
+    }
+
+    public boolean isReady() {
+        return modalVisible && areAllFieldsVisible() && areAllFieldsEditable();
+    }
+
+    /**
+     * Valor actual de un campo
+     * @param fieldId id del campo (name, country, city, card, month, year)
+     * @return valor, o null si el campo no existe
+     */
+    public String getValue(String fieldId) {
+        return fields.stream().filter(field -> field.getId().equals(fieldId))
+            .map(Field::getValue).findFirst().orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CheckoutFormState{modalVisible=%s, filled=%s, fields=%s}", modalVisible, filled, fields);
+    }
+
+    // Campo del formulario
+    public static final class Field {
+        private final String id;
+        private final boolean visible;
+        private final boolean editable;
+        private final String value;
+
+        public Field(String id, boolean visible, boolean editable, String value) {
+            this.id = id;
+            this.visible = visible;
+            this.editable = editable;
+            this.value = value;
+        }
+
+        public String getId() { return id; }
+        public boolean isVisible() { return visible; }
+        public boolean isEditable() { return editable; }
+        public String getValue() { return value; }
+
+        @Override
+        public String toString() {
+            return String.format("Field{id=%s, visible=%s, editable=%s}", id, visible, editable);
+        }
+    }
+}
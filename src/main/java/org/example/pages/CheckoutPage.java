@@ -3,35 +3,124 @@ package org.example.pages;
 import net.serenitybdd.annotations.Step;
 import net.serenitybdd.core.pages.PageObject;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.example.config.TestConfiguration;
 import org.example.utils.LocatorManager;
-import java.time.Duration;
+import org.example.utils.Money;
+import org.example.utils.WaitEngine;
+import java.util.Arrays;
+import java.util.List;
 
 public class CheckoutPage extends PageObject {
 
     // All locators are now managed through LocatorManager - @FindBy annotations removed
 
-    private WebDriverWait wait;
+    private WaitEngine wait;
+    // Confirmación de la última compra: se lee una vez y la sirven todos los accesores hasta cerrar el modal
+    private PurchaseConfirmation confirmation;
+
+    // Campos del formulario en el orden de los valores que recibe fillFormFast
+    private static final List<String> FORM_FIELD_IDS = List.of(
+        LocatorManager.getCheckoutpageNameField(), LocatorManager.getCheckoutpageCountryField(),
+        LocatorManager.getCheckoutpageCityField(), LocatorManager.getCheckoutpageCardField(),
+        LocatorManager.getCheckoutpageMonthField(), LocatorManager.getCheckoutpageYearField());
+
+    // Modal visible con título y mensaje ya rellenos, o null si aún no lo está
+    private static final String CONFIRMATION_SCRIPT =
+        "var box = document.querySelector(arguments[0]);" +
+        "if (!box) { return null; }" +
+        "var style = window.getComputedStyle(box);" +
+        "if (style.display === 'none' || style.visibility === 'hidden') { return null; }" +
+        "var text = function (el) { return el ? (el.innerText || el.textContent || '').trim() : ''; };" +
+        "return {title: text(box.querySelector('h2')), message: text(box.querySelector('p'))};";
+
+    // Lee visibilidad, editabilidad y valor de los campos del #orderModal; con valores (arguments[2]) y todos los
+    // campos listos, los escribe con el setter nativo y lanza input/change como lo haría el teclado
+    private static final String FORM_SCRIPT =
+        "var modal = document.getElementById(arguments[0]);" +
+        "var ids = arguments[1], values = arguments[2];" +
+        "var isVisible = function (el) {" +
+        "  return !!el && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0)" +
+        "    && window.getComputedStyle(el).visibility !== 'hidden';" +
+        "};" +
+        "var elements = [], ready = isVisible(modal);" +
+        "for (var i = 0; i < ids.length; i++) {" +
+        "  var el = document.getElementById(ids[i]);" +
+        "  elements.push(el);" +
+        "  ready = ready && isVisible(el) && !el.disabled && !el.readOnly;" +
+        "}" +
+        "var filled = false;" +
+        "if (values && ready) {" +
+        "  for (var j = 0; j < elements.length; j++) {" +
+        "    var field = elements[j];" +
+        "    var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(field), 'value');" +
+        "    field.focus();" +
+        "    if (descriptor && descriptor.set) { descriptor.set.call(field, values[j]); } else { field.value = values[j]; }" +
+        "    field.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "    field.dispatchEvent(new Event('change', {bubbles: true}));" +
+        "    field.blur();" +
+        "  }" +
+        "  filled = true;" +
+        "}" +
+        "var fields = [];" +
+        "for (var k = 0; k < elements.length; k++) {" +
+        "  var e = elements[k];" +
+        "  fields.push({id: ids[k], visible: isVisible(e), editable: !!e && !e.disabled && !e.readOnly, value: e ? e.value : null});" +
+        "}" +
+        "return {modalVisible: isVisible(modal), filled: filled, fields: fields};";
+
+    public CheckoutPage() {
+        super();
+    }
+
+    public CheckoutPage(WebDriver driver) {
+        super(driver);
+    }
 
     public void initializeWait() {
-        wait = new WebDriverWait(getDriver(), Duration.ofSeconds(10));
+        wait = WaitEngine.forDriver(getDriver());
     }
 
     @Step("Wait for order modal to appear")
     public void waitForOrderModal() {
+        awaitReadyForm();
+    }
+
+    // Modal and all six fields checked in one script per poll; returns the state of the poll that succeeded
+    private CheckoutFormState awaitReadyForm() {
         if (wait == null) {
             initializeWait();
         }
-        try {
-            // Wait for order modal and name field to be visible using LocatorManager
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(LocatorManager.getCheckoutpageModal())));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.id(LocatorManager.getCheckoutpageNameField())));
-        } catch (Exception e) {
-            // Fallback: try to wait for the name field directly if modal is not found
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.id(LocatorManager.getCheckoutpageNameField())));
+        return wait.until(driver -> {
+            CheckoutFormState state = runFormScript(null);
+            return state.isReady() ? state : null;
+        }, "CheckoutPage order modal ready");
+    }
+
+    @Step("Read checkout form state")
+    public CheckoutFormState readFormState() {
+        return runFormScript(null);
+    }
+
+    @Step("Fill checkout form in a single script call")
+    public CheckoutFormState fillFormFast(String name, String country, String city, String card, String month, String year) {
+        if (wait == null) {
+            initializeWait();
         }
+        List<String> values = Arrays.asList(name, country, city, card, month, year);
+        // Fills on the first poll that finds the modal ready; the returned state doubles as the form validation
+        return wait.until(driver -> {
+            CheckoutFormState state = runFormScript(values);
+            return state.isFilled() ? state : null;
+        }, "CheckoutPage fast fill");
+    }
+
+    private CheckoutFormState runFormScript(List<String> values) {
+        return CheckoutFormState.fromScriptResult(((JavascriptExecutor) getDriver()).executeScript(FORM_SCRIPT,
+            LocatorManager.getCheckoutpageModal(), FORM_FIELD_IDS, values));
     }
 
     @Step("Fill customer name: {0}")
@@ -107,36 +196,37 @@ public class CheckoutPage extends PageObject {
         }
         WebElement purchaseButtonElement = getDriver().findElement(By.cssSelector(LocatorManager.getCheckoutpagePurchaseButton()));
         wait.until(ExpectedConditions.elementToBeClickable(purchaseButtonElement));
+        confirmation = null;
         purchaseButtonElement.click();
     }
 
     @Step("Wait for confirmation modal")
     public void waitForConfirmationModal() {
-        if (wait == null) {
-            initializeWait();
+        getPurchaseConfirmation();
+    }
+
+    @Step("Read purchase confirmation")
+    public PurchaseConfirmation getPurchaseConfirmation() {
+        if (confirmation == null) {
+            if (wait == null) {
+                initializeWait();
+            }
+            // Wait and read in the same script: the first poll that sees the filled modal returns the snapshot
+            confirmation = wait.until(driver -> PurchaseConfirmation.fromScriptResult(
+                ((JavascriptExecutor) driver).executeScript(CONFIRMATION_SCRIPT, ".sweet-alert")),
+                "PurchaseConfirmation snapshot");
         }
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".sweet-alert")));
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".sweet-alert h2")));
+        return confirmation;
     }
 
     @Step("Get confirmation title")
     public String getConfirmationTitle() {
-        if (wait == null) {
-            initializeWait();
-        }
-        WebElement confirmationTitleElement = getDriver().findElement(By.cssSelector(".sweet-alert h2"));
-        wait.until(ExpectedConditions.visibilityOf(confirmationTitleElement));
-        return confirmationTitleElement.getText().trim();
+        return getPurchaseConfirmation().getTitle();
     }
 
     @Step("Get confirmation message")
     public String getConfirmationMessage() {
-        if (wait == null) {
-            initializeWait();
-        }
-        WebElement confirmationMessageElement = getDriver().findElement(By.cssSelector(".sweet-alert p"));
-        wait.until(ExpectedConditions.visibilityOf(confirmationMessageElement));
-        return confirmationMessageElement.getText().trim();
+        return getPurchaseConfirmation().getMessage();
     }
 
     @Step("Click OK button")
@@ -147,30 +237,13 @@ public class CheckoutPage extends PageObject {
         WebElement okButtonElement = getDriver().findElement(By.cssSelector(".sweet-alert .confirm"));
         wait.until(ExpectedConditions.elementToBeClickable(okButtonElement));
         okButtonElement.click();
+        confirmation = null;
     }
 
     @Step("Validate form fields are visible")
     public boolean validateFormFieldsVisible() {
         try {
-            if (wait == null) {
-                initializeWait();
-            }
-            waitForOrderModal();
-            
-            // Check all form fields are visible using LocatorManager
-            WebElement nameField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageNameField()));
-            WebElement countryField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageCountryField()));
-            WebElement cityField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageCityField()));
-            WebElement cardField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageCardField()));
-            WebElement monthField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageMonthField()));
-            WebElement yearField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageYearField()));
-            
-            return nameField.isDisplayed() && 
-                   countryField.isDisplayed() && 
-                   cityField.isDisplayed() && 
-                   cardField.isDisplayed() && 
-                   monthField.isDisplayed() && 
-                   yearField.isDisplayed();
+            return awaitReadyForm().areAllFieldsVisible();
         } catch (Exception e) {
             return false;
         }
@@ -179,24 +252,7 @@ public class CheckoutPage extends PageObject {
     @Step("Validate form fields are editable")
     public boolean validateFormFieldsEditable() {
         try {
-            if (wait == null) {
-                initializeWait();
-            }
-            
-            // Check all form fields are enabled using LocatorManager
-            WebElement nameField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageNameField()));
-            WebElement countryField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageCountryField()));
-            WebElement cityField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageCityField()));
-            WebElement cardField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageCardField()));
-            WebElement monthField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageMonthField()));
-            WebElement yearField = getDriver().findElement(By.id(LocatorManager.getCheckoutpageYearField()));
-            
-            return nameField.isEnabled() && 
-                   countryField.isEnabled() && 
-                   cityField.isEnabled() && 
-                   cardField.isEnabled() && 
-                   monthField.isEnabled() && 
-                   yearField.isEnabled();
+            return readFormState().areAllFieldsEditable();
         } catch (Exception e) {
             return false;
         }
@@ -204,25 +260,15 @@ public class CheckoutPage extends PageObject {
 
     @Step("Complete purchase form with customer data")
     public void completePurchaseForm(String name, String country, String city, String card, String month, String year) {
-        fillName(name);
-        fillCountry(country);
-        fillCity(city);
-        fillCard(card);
-        fillMonth(month);
-        fillYear(year);
+        fillPurchaseForm(name, country, city, card, month, year);
         clickPurchase();
     }
 
     @Step("Validate purchase confirmation")
     public boolean validatePurchaseConfirmation() {
         try {
-            waitForConfirmationModal();
-            String title = getConfirmationTitle();
-            String message = getConfirmationMessage();
-            
-            return title.contains("Thank you for your purchase!") && 
-                   message.contains("Id:") && 
-                   message.contains("Amount:");
+            PurchaseConfirmation purchase = getPurchaseConfirmation();
+            return purchase.isThankYouDisplayed() && purchase.hasTransactionId() && purchase.hasAmount();
         } catch (Exception e) {
             return false;
         }
@@ -231,8 +277,7 @@ public class CheckoutPage extends PageObject {
     @Step("Validate customer data in confirmation: {0}")
     public boolean validateCustomerDataInConfirmation(String expectedName) {
         try {
-            String confirmationMessage = getConfirmationMessage();
-            return confirmationMessage.contains(expectedName);
+            return getPurchaseConfirmation().getMessage().contains(expectedName);
         } catch (Exception e) {
             return false;
         }
@@ -241,9 +286,7 @@ public class CheckoutPage extends PageObject {
     @Step("Validate total amount in confirmation: {0}")
     public boolean validateTotalAmountInConfirmation(double expectedAmount) {
         try {
-            String confirmationMessage = getConfirmationMessage();
-            String amountStr = String.valueOf((int)expectedAmount);
-            return confirmationMessage.contains("Amount: " + amountStr + " USD");
+            return getPurchaseAmountMinorUnits() == Money.fromUnits(expectedAmount);
         } catch (Exception e) {
             return false;
         }
@@ -252,19 +295,7 @@ public class CheckoutPage extends PageObject {
     @Step("Get transaction ID from confirmation")
     public String getTransactionId() {
         try {
-            String confirmationMessage = getConfirmationMessage();
-            // Extract transaction ID from message like "Id: 9140731 Amount: 790 USD"
-            if (confirmationMessage.contains("Id:")) {
-                String[] parts = confirmationMessage.split("Id:");
-                if (parts.length > 1) {
-                    String idPart = parts[1].trim();
-                    String[] idParts = idPart.split(" ");
-                    if (idParts.length > 0) {
-                        return idParts[0].trim();
-                    }
-                }
-            }
-            return "";
+            return getPurchaseConfirmation().getTransactionId();
         } catch (Exception e) {
             return "";
         }
@@ -273,27 +304,29 @@ public class CheckoutPage extends PageObject {
     @Step("Get purchase amount from confirmation")
     public double getPurchaseAmount() {
         try {
-            String confirmationMessage = getConfirmationMessage();
-            // Extract amount from message like "Id: 9140731 Amount: 790 USD"
-            if (confirmationMessage.contains("Amount:")) {
-                String[] parts = confirmationMessage.split("Amount:");
-                if (parts.length > 1) {
-                    String amountPart = parts[1].trim();
-                    String[] amountParts = amountPart.split(" ");
-                    if (amountParts.length > 0) {
-                        return Double.parseDouble(amountParts[0].trim());
-                    }
-                }
-            }
-            return 0.0;
+            return Money.toUnits(getPurchaseAmountMinorUnits());
         } catch (Exception e) {
             return 0.0;
         }
     }
 
+    @Step("Get purchase amount in minor units from confirmation")
+    public long getPurchaseAmountMinorUnits() {
+        return getPurchaseConfirmation().getAmountMinorUnits();
+    }
+
     // Compatibility methods for CheckoutTask
     @Step("Fill complete purchase form")
     public void fillPurchaseForm(String name, String country, String city, String card, String month, String year) {
+        if (TestConfiguration.isCheckoutFastFill()) {
+            fillFormFast(name, country, city, card, month, year);
+        } else {
+            typePurchaseForm(name, country, city, card, month, year);
+        }
+    }
+
+    @Step("Type complete purchase form with real keystrokes")
+    public void typePurchaseForm(String name, String country, String city, String card, String month, String year) {
         fillName(name);
         fillCountry(country);
         fillCity(city);
@@ -304,17 +337,20 @@ public class CheckoutPage extends PageObject {
 
     @Step("Validate form fields are visible and editable")
     public boolean areFormFieldsVisibleAndEditable() {
-        return validateFormFieldsVisible() && validateFormFieldsEditable();
+        try {
+            return awaitReadyForm().isReady();
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     @Step("Validate purchase button is clickable")
     public boolean isPurchaseButtonClickable() {
         try {
-            if (wait == null) {
-                initializeWait();
-            }
             WebElement purchaseButtonElement = getDriver().findElement(By.cssSelector(LocatorManager.getCheckoutpagePurchaseButton()));
-            wait.until(ExpectedConditions.elementToBeClickable(purchaseButtonElement));
+            // Probe: a miss costs the short timeout, not the default one
+            WaitEngine.forOperation(getDriver(), "short")
+                .until(ExpectedConditions.elementToBeClickable(purchaseButtonElement));
             return purchaseButtonElement.isEnabled();
         } catch (Exception e) {
             return false;
@@ -324,8 +360,7 @@ public class CheckoutPage extends PageObject {
     @Step("Validate confirmation message contains 'Thank you for your purchase!'")
     public boolean isThankYouMessageDisplayed() {
         try {
-            String title = getConfirmationTitle();
-            return title.contains("Thank you for your purchase!");
+            return getPurchaseConfirmation().isThankYouDisplayed();
         } catch (Exception e) {
             return false;
         }
@@ -334,8 +369,7 @@ public class CheckoutPage extends PageObject {
     @Step("Validate transaction ID is present in confirmation")
     public boolean isTransactionIdPresent() {
         try {
-            String message = getConfirmationMessage();
-            return message.contains("Id:") || message.contains("ID:");
+            return getPurchaseConfirmation().hasTransactionId();
         } catch (Exception e) {
             return false;
         }
@@ -344,8 +378,7 @@ public class CheckoutPage extends PageObject {
     @Step("Validate amount is present in confirmation")
     public boolean isAmountPresent() {
         try {
-            String message = getConfirmationMessage();
-            return message.contains("Amount:") || message.contains("$");
+            return getPurchaseConfirmation().hasAmount();
         } catch (Exception e) {
             return false;
         }
@@ -354,8 +387,7 @@ public class CheckoutPage extends PageObject {
     @Step("Get full confirmation details")
     public String getFullConfirmationDetails() {
         try {
-            return String.format("Title: %s\nMessage: %s", 
-                getConfirmationTitle(), getConfirmationMessage());
+            return getPurchaseConfirmation().toDetails();
         } catch (Exception e) {
             return "Error getting confirmation details: " + e.getMessage();
         }
@@ -364,15 +396,8 @@ public class CheckoutPage extends PageObject {
     @Step("Get confirmation amount")
     public String getConfirmationAmount() {
         try {
-            String message = getConfirmationMessage();
-            // Extract amount from message like "Id: 9140731 Amount: 790 USD"
-            if (message.contains("Amount:")) {
-                String[] parts = message.split("Amount:");
-                if (parts.length > 1) {
-                    return parts[1].trim();
-                }
-            }
-            return "";
+            // Amount as shown in the modal, e.g. "790 USD"
+            return getPurchaseConfirmation().getAmountText();
         } catch (Exception e) {
             return "";
         }
@@ -396,12 +421,12 @@ public class CheckoutPage extends PageObject {
     @Step("Validate customer data in confirmation matches input data")
     public boolean validateCustomerDataInConfirmation(String expectedName, String expectedCard) {
         try {
-            String confirmationMessage = getConfirmationMessage();
+            PurchaseConfirmation purchase = getPurchaseConfirmation();
             // Validar que el nombre del cliente aparezca en la confirmación
-            boolean nameMatches = confirmationMessage.toLowerCase().contains(expectedName.toLowerCase());
+            boolean nameMatches = purchase.getName().toLowerCase().contains(expectedName.toLowerCase());
             // Validar que los últimos 4 dígitos de la tarjeta aparezcan
             String lastFourDigits = expectedCard.substring(expectedCard.length() - 4);
-            boolean cardMatches = confirmationMessage.contains(lastFourDigits);
+            boolean cardMatches = purchase.getCard().contains(lastFourDigits);
             return nameMatches || cardMatches; // Al menos uno debe coincidir
         } catch (Exception e) {
             return false;
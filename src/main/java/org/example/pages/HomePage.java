@@ -2,31 +2,74 @@ package org.example.pages;
 
 import net.serenitybdd.annotations.Step;
 import net.serenitybdd.core.pages.PageObject;
+import org.example.utils.BrowserScripts;
 import org.example.utils.LocatorManager;
+import org.example.utils.WaitEngine;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
 import java.util.List;
 
-public class HomePage extends PageObject {
+public class HomePage extends PageObject implements ReadinessContract {
 
     // All locators are now managed through LocatorManager - @FindBy annotations removed
 
-    private static final int DEFAULT_TIMEOUT = 10;
+    // Lista: categorías visibles y al menos una tarjeta de producto, sin esperar imágenes ni carrusel
+    private static final String HOME_READY_SCRIPT =
+        "if (window.__navigatingAway) { return false; }" +
+        "var shown = function (el) { return !!el && el.getClientRects().length > 0; };" +
+        "return shown(document.querySelector(arguments[0])) && shown(document.querySelector(arguments[1]));";
     
-    private WebDriverWait wait;
+    // Índice del listado: nombre, id, href y precio de cada tarjeta, más el enlace para hacer clic,
+    // con la marca de generación del documento leída en el mismo script
+    private static final String PRODUCT_INDEX_SCRIPT =
+        "var generation = " + ReadinessCache.GENERATION_EXPRESSION + ";" +
+        "var text = function (el) { return el ? (el.innerText || el.textContent || '').trim() : ''; };" +
+        "var cards = document.querySelectorAll(arguments[0]);" +
+        "var items = [];" +
+        "for (var i = 0; i < cards.length; i++) {" +
+        "  var link = cards[i].querySelector(arguments[1]);" +
+        "  if (!link) { continue; }" +
+        "  var match = (link.getAttribute('href') || '').match(/idp_=(\\d+)/);" +
+        "  items.push({name: text(link), id: match ? match[1] : null, href: link.href," +
+        "    price: text(cards[i].querySelector(arguments[2])), link: link});" +
+        "}" +
+        "return {generation: generation, items: items};";
+    
+    private WaitEngine wait;
+    private ProductIndex productIndex;
+
+    public HomePage() {
+        super();
+    }
+
+    public HomePage(WebDriver driver) {
+        super(driver);
+    }
 
     private void ensureWaitInitialized() {
         if (wait == null) {
-            wait = new WebDriverWait(getDriver(), Duration.ofSeconds(DEFAULT_TIMEOUT));
+            wait = WaitEngine.forDriver(getDriver());
         }
     }
 
+    @Override
+    public ExpectedCondition<Boolean> readiness() {
+        return driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(HOME_READY_SCRIPT,
+            LocatorManager.getHomepageCategoriesSection(),
+            LocatorManager.getHomepageProductCards()));
+    }
+
     @Step("Open Demoblaze homepage")
     public void openHomePage() {
         String baseUrl = System.getProperty("base.url", "https://www.demoblaze.com/");
+        // With eager/none page loads the old document may still answer the readiness check
+        BrowserScripts.markNavigationStart(getDriver());
+        productIndex = null;
         openUrl(baseUrl);
         ensureWaitInitialized();
         waitForPageToLoad();
@@ -36,13 +79,8 @@ public class HomePage extends PageObject {
     public void waitForPageToLoad() {
         ensureWaitInitialized();
         try {
-            // Wait for categories section to be visible
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(LocatorManager.getHomepageCategoriesSection())));
-            
-            // Wait for at least one product to be present in the store
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(LocatorManager.getHomepageProductCards())));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(LocatorManager.getHomepageProductCards())));
-            
+            // Categories visible and at least one product card rendered, once per document generation
+            ReadinessCache.await(getDriver(), "HomePage readiness", () -> wait.until(readiness(), "HomePage readiness"));
         } catch (Exception e) {
             // Fallback: just wait for body if homepage elements not found
             wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(LocatorManager.getCommonBody())));
@@ -59,9 +97,10 @@ public class HomePage extends PageObject {
     @Step("Wait for homepage to be fully loaded with categories and products")
     public void waitForHomepageFullyLoaded() {
         ensureWaitInitialized();
-        waitForCategoriesVisible();
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(LocatorManager.getHomepageProductCards())));
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(LocatorManager.getHomepageProductCards())));
+        ReadinessCache.await(getDriver(), "HomePage fully loaded", () -> {
+            waitForCategoriesVisible();
+            wait.until(readiness(), "HomePage readiness");
+        });
     }
 
     @Step("Validate that Phones category is visible")
@@ -89,8 +128,7 @@ public class HomePage extends PageObject {
         // Then wait for it to be clickable
         WebElement phonesCategoryElement = getDriver().findElement(By.cssSelector(LocatorManager.getHomepagePhonesCategory()));
         wait.until(ExpectedConditions.elementToBeClickable(phonesCategoryElement));
-        phonesCategoryElement.click();
-        waitForProductsToLoad();
+        clickCategory(phonesCategoryElement);
     }
 
     @Step("Click on Laptops category")
@@ -102,7 +140,17 @@ public class HomePage extends PageObject {
         waitForPageToLoad();
         WebElement laptopsElement = getDriver().findElement(By.cssSelector(LocatorManager.getHomepageLaptopsCategory()));
         wait.until(ExpectedConditions.elementToBeClickable(laptopsElement));
-        laptopsElement.click();
+        clickCategory(laptopsElement);
+    }
+
+    private void clickCategory(WebElement categoryElement) {
+        productIndex = null;
+        // The previous listing stays visible until the category request re-renders it
+        List<WebElement> previousCards = getDriver().findElements(By.cssSelector(LocatorManager.getHomepageProductCards()));
+        categoryElement.click();
+        if (!previousCards.isEmpty()) {
+            wait.until(ExpectedConditions.stalenessOf(previousCards.get(0)), "HomePage previous listing replaced");
+        }
         waitForProductsToLoad();
     }
 
@@ -123,26 +171,59 @@ public class HomePage extends PageObject {
 
     @Step("Select product by name: {0}")
     public void selectProductByName(String productName) {
-        if (wait == null) {
-            ensureWaitInitialized();
-        }
+        ensureWaitInitialized();
         try {
-            // Wait for product links to be present
-            wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(LocatorManager.getHomepageProductLinks())));
-            // Refresh the product links list
-            List<WebElement> currentProductLinks = getDriver().findElements(By.cssSelector(LocatorManager.getHomepageProductLinks()));
-            
-            for (WebElement productLink : currentProductLinks) {
-                if (productLink.getText().trim().equals(productName)) {
-                    wait.until(ExpectedConditions.elementToBeClickable(productLink));
-                    productLink.click();
-                    return;
-                }
+            ProductIndex.Entry product = getProductIndex().find(productName);
+            if (product == null) {
+                // The cached listing may predate a re-render: rebuild once before giving up
+                product = rebuildProductIndex().find(productName);
+            }
+            if (product == null) {
+                throw new RuntimeException("Product not found: " + productName);
             }
-            throw new RuntimeException("Product not found: " + productName);
+            clickProduct(product);
         } catch (Exception e) {
-            throw new RuntimeException("Error selecting product: " + productName + " - " + e.getMessage());
+            throw new RuntimeException("Error selecting product: " + productName + " - " + e.getMessage(), e);
+        }
+    }
+
+    @Step("Read product index of current listing")
+    public ProductIndex getProductIndex() {
+        // Reused only while the document generation (url, token, requests started) is unchanged
+        if (productIndex != null && productIndex.isCurrent(ReadinessCache.generation(getDriver()))) {
+            return productIndex;
+        }
+        return rebuildProductIndex();
+    }
+
+    private ProductIndex rebuildProductIndex() {
+        ensureWaitInitialized();
+        productIndex = null;
+        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(LocatorManager.getHomepageProductLinks())));
+        ProductIndex index = ProductIndex.fromScriptResult(((JavascriptExecutor) getDriver()).executeScript(PRODUCT_INDEX_SCRIPT,
+            LocatorManager.getHomepageProductCards(),
+            LocatorManager.getHomepageProductLinks(),
+            LocatorManager.getHomepageProductPrices()));
+        productIndex = index;
+        return index;
+    }
+
+    private void clickProduct(ProductIndex.Entry product) {
+        WebElement link = product.getLink();
+        try {
+            wait.until(ExpectedConditions.elementToBeClickable(link));
+        } catch (StaleElementReferenceException e) {
+            // Listing re-rendered since the index was read: look the product up again
+            ProductIndex.Entry fresh = rebuildProductIndex().find(product.getName());
+            if (fresh == null) {
+                throw new RuntimeException("Product no longer listed: " + product.getName(), e);
+            }
+            link = fresh.getLink();
+            wait.until(ExpectedConditions.elementToBeClickable(link));
         }
+        BrowserScripts.markNavigationStart(getDriver());
+        productIndex = null;
+        link.click();
     }
 
     @Step("Get first available product name from current category")
@@ -158,20 +239,19 @@ public class HomePage extends PageObject {
     private String getProductNameByIndex(int index, String position) {
         ensureWaitInitialized();
         try {
-            List<WebElement> productLinks = waitForAndGetProductLinks();
-            if (productLinks.size() > index) {
-                return productLinks.get(index).getText().trim();
-            }
-            throw new RuntimeException(String.format("Not enough products found. Requested %s product (index %d) but only %d products available", 
-                position, index, productLinks.size()));
+            return getProductByIndex(index, position).getName();
         } catch (Exception e) {
             throw new RuntimeException(String.format("Error getting %s product name: %s", position, e.getMessage()));
         }
     }
     
-    private List<WebElement> waitForAndGetProductLinks() {
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(LocatorManager.getHomepageProductLinks())));
-        return getDriver().findElements(By.cssSelector(LocatorManager.getHomepageProductLinks()));
+    private ProductIndex.Entry getProductByIndex(int index, String position) {
+        ProductIndex productIndex = getProductIndex();
+        if (productIndex.size() > index) {
+            return productIndex.getEntries().get(index);
+        }
+        throw new RuntimeException(String.format("Not enough products found. Requested %s product (index %d) but only %d products available", 
+            position, index, productIndex.size()));
     }
 
     @Step("Navigate to cart")
@@ -184,10 +264,12 @@ public class HomePage extends PageObject {
             
             // Find and click cart link using LocatorManager
             WebElement cartElement = getDriver().findElement(By.id(LocatorManager.getHomepageCartLink()));
+            BrowserScripts.markNavigationStart(getDriver());
+            productIndex = null;
             cartElement.click();
             
         } catch (Exception e) {
-            throw new RuntimeException("Error navigating to cart: " + e.getMessage());
+            throw new RuntimeException("Error navigating to cart: " + e.getMessage(), e);
         }
     }
 
@@ -241,6 +323,8 @@ public class HomePage extends PageObject {
     @Step("Navigate back to home page")
     public void navigateBackToHome() {
         String baseUrl = System.getProperty("base.url", "https://www.demoblaze.com/");
+        BrowserScripts.markNavigationStart(getDriver());
+        productIndex = null;
         openUrl(baseUrl);
         waitForPageToLoad();
     }
@@ -258,15 +342,7 @@ public class HomePage extends PageObject {
     private void clickProductByIndex(int index, String position) {
         ensureWaitInitialized();
         try {
-            List<WebElement> productLinks = waitForAndGetProductLinks();
-            if (productLinks.size() > index) {
-                WebElement targetProduct = productLinks.get(index);
-                wait.until(ExpectedConditions.elementToBeClickable(targetProduct));
-                targetProduct.click();
-            } else {
-                throw new RuntimeException(String.format("Cannot click %s product. Only %d products available", 
-                    position, productLinks.size()));
-            }
+            clickProduct(getProductByIndex(index, position));
         } catch (Exception e) {
             throw new RuntimeException(String.format("Error clicking %s product: %s", position, e.getMessage()));
         }
@@ -0,0 +1,131 @@
+package org.example.pages;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Índice de los productos del listado actual (nombre, id, enlace, precio y elemento del enlace) leído en un único
+ * executeScript, junto con la marca de generación del documento (ver ReadinessCache) del momento de la lectura.
+ * Lo guarda la instancia de HomePage que lo leyó, nunca un mapa estático por driver (los enlaces referencian al
+ * driver), y solo se reutiliza mientras la marca no cambie: una navegación o la petición de otra categoría lo
+ * invalidan solas. Seleccionar un producto pasa a ser una búsqueda en el mapa más un clic
+ */
+public final class ProductIndex {
+
+    private final List<Entry> entries;
+    private final Map<String, Entry> byName;
+    private final String generation;
+
+    public ProductIndex(List<Entry> entries) {
+        this(entries, null);
+    }
+
+    public ProductIndex(List<Entry> entries, String generation) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.generation = generation;
+        Map<String, Entry> names = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            names.putIfAbsent(entry.getName(), entry);
+        }
+        this.byName = names;
+    }
+
+    /**
+     * Construye el índice a partir del resultado del script de lectura del listado
+     * @param scriptResult mapa con "generation" (marca del documento, o null) e "items"
+     *                     (lista de mapas con name, id, href, price y link)
+     * @return índice del listado
+     */
+    @SuppressWarnings("unchecked")
+    static ProductIndex fromScriptResult(Object scriptResult) {
+        Map<String, Object> result = (Map<String, Object>) scriptResult;
+        List<Entry> entries = new ArrayList<>();
+        for (Map<String, Object> item : (List<Map<String, Object>>) result.get("items")) {
+            entries.add(new Entry(asText(item.get("name")), (String) item.get("id"), asText(item.get("href")),
+                asText(item.get("price")), (WebElement) item.get("link")));
+        }
+        Object generation = result.get("generation");
+        return new ProductIndex(entries, generation == null ? null : generation.toString());
+    }
+
+    /**
+     * Indica si el índice sigue describiendo el listado mostrado
+     * @param currentGeneration marca de generación actual del documento, o null si no se puede calcular
+     * @return true solo si ambas marcas existen y coinciden
+     */
+    public boolean isCurrent(String currentGeneration) {
+        return generation != null && generation.equals(currentGeneration);
+    }
+
+    public String getGeneration() {
+        return generation;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Busca un producto por su nombre exacto
+     * @param name nombre tal como aparece en la tarjeta
+     * @return entrada del producto, o null si no está en el listado
+     */
+    public Entry find(String name) {
+        return byName.get(name);
+    }
+
+    public List<String> getProductNames() {
+        return entries.stream().map(Entry::getName).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProductIndex{products=%d}", entries.size());
+    }
+
+    private static String asText(Object value) {
+        return value == null ? "" : value.toString().trim();
+    }
+
+    // Producto del listado: nombre, id de prod.html?idp_=, URL absoluta del enlace, precio mostrado y enlace
+    public static final class Entry {
+        private final String name;
+        private final String id;
+        private final String href;
+        private final String price;
+        private final WebElement link;
+
+        public Entry(String name, String id, String href, String price, WebElement link) {
+            this.name = name;
+            this.id = id;
+            this.href = href;
+            this.price = price;
+            this.link = link;
+        }
+
+        public String getName() { return name; }
+        public String getId() { return id; }
+        public String getHref() { return href; }
+        public String getPrice() { return price; }
+        public WebElement getLink() { return link; }
+
+        @Override
+        public String toString() {
+            return String.format("Entry{name='%s', id=%s, price='%s'}", name, id, price);
+        }
+    }
+}
@@ -4,11 +4,14 @@ import net.serenitybdd.annotations.Step;
 import net.serenitybdd.core.pages.PageObject;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import org.example.config.TestConfiguration;
+import org.example.utils.BrowserScripts;
+import org.example.utils.Money;
+import org.example.utils.WaitEngine;
 
 public class ProductPage extends PageObject {
 
@@ -30,16 +33,23 @@ public class ProductPage extends PageObject {
     @FindBy(linkText = "Home")
     private WebElement homeLink;
 
-    private static final int DEFAULT_TIMEOUT = 10;
     private static final String PRODUCT_NAME_SELECTOR = "h2.name";
     private static final String PRODUCT_PRICE_SELECTOR = "h3.price-container";
     private static final String ADD_TO_CART_SELECTOR = ".btn.btn-success.btn-lg";
     
-    private WebDriverWait wait;
+    private WaitEngine wait;
+
+    public ProductPage() {
+        super();
+    }
+
+    public ProductPage(WebDriver driver) {
+        super(driver);
+    }
 
     private void ensureWaitInitialized() {
         if (wait == null) {
-            wait = new WebDriverWait(getDriver(), Duration.ofSeconds(DEFAULT_TIMEOUT));
+            wait = WaitEngine.forDriver(getDriver());
         }
     }
 
@@ -47,15 +57,26 @@ public class ProductPage extends PageObject {
     public void waitForProductPageToLoad() {
         ensureWaitInitialized();
         try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(PRODUCT_NAME_SELECTOR)));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(PRODUCT_NAME_SELECTOR)));
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(ADD_TO_CART_SELECTOR)));
-            wait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(ADD_TO_CART_SELECTOR)));
+            ReadinessCache.await(getDriver(), "ProductPage readiness", () -> {
+                wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(PRODUCT_NAME_SELECTOR)));
+                wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(PRODUCT_NAME_SELECTOR)));
+                wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(ADD_TO_CART_SELECTOR)));
+                wait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(ADD_TO_CART_SELECTOR)));
+            });
         } catch (Exception e) {
             wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("body")));
         }
     }
 
+    @Step("Open product page for product id {0}")
+    public void openProductById(String productId) {
+        String baseUrl = System.getProperty("base.url", TestConfiguration.URLs.BASE_URL);
+        // Deep link straight to the product, without going through the homepage listing
+        BrowserScripts.markNavigationStart(getDriver());
+        openUrl((baseUrl.endsWith("/") ? baseUrl : baseUrl + "/") + TestConfiguration.URLs.PRODUCT_PAGE_PATH + productId);
+        waitForProductPageToLoad();
+    }
+
     @Step("Get product name")
     public String getProductName() {
         return getElementText(PRODUCT_NAME_SELECTOR, "product name");
@@ -79,10 +100,13 @@ public class ProductPage extends PageObject {
 
     @Step("Get product price as number")
     public double getProductPriceAsNumber() {
-        String priceText = getProductPrice();
-        // Extract number from text like "$790 *includes tax"
-        String numericPrice = priceText.replaceAll("[^0-9.]", "");
-        return Double.parseDouble(numericPrice);
+        return Money.toUnits(getProductPriceMinorUnits());
+    }
+
+    @Step("Get product price in minor units")
+    public long getProductPriceMinorUnits() {
+        // Read straight from text like "$790 *includes tax"
+        return Money.parseMinorUnits(getProductPrice());
     }
 
     @Step("Click Add to Cart button")
@@ -141,8 +165,9 @@ public class ProductPage extends PageObject {
     @Step("Validate Add to Cart button is clickable")
     public boolean isAddToCartButtonClickable() {
         try {
-            ensureWaitInitialized();
-            wait.until(ExpectedConditions.elementToBeClickable(addToCartButton));
+            // Probe: a miss costs the short timeout, not the default one
+            WaitEngine.forOperation(getDriver(), "short")
+                .until(ExpectedConditions.elementToBeClickable(addToCartButton));
             return addToCartButton.isEnabled();
         } catch (Exception e) {
             return false;
@@ -0,0 +1,146 @@
+package org.example.pages;
+
+import org.example.utils.Money;
+
+import java.util.Map;
+
+/**
+ * Foto inmutable del modal de confirmación de compra leída en un único executeScript
+ * El mensaje ("Id: 9140731 / Amount: 790 USD / Card Number: ... / Name: ... / Date: ...") se separa en Java,
+ * tanto en varias líneas (innerText con <br>) como en una sola
+ */
+public final class PurchaseConfirmation {
+
+    public static final String THANK_YOU_TITLE = "Thank you for your purchase!";
+
+    private static final String ID_LABEL = "Id:";
+    private static final String AMOUNT_LABEL = "Amount:";
+    private static final String CARD_LABEL = "Card Number:";
+    private static final String NAME_LABEL = "Name:";
+    private static final String DATE_LABEL = "Date:";
+    private static final String[] LABELS = {ID_LABEL, AMOUNT_LABEL, CARD_LABEL, NAME_LABEL, DATE_LABEL};
+
+    private final String title;
+    private final String message;
+    private final String transactionId;
+    private final String amountText;
+    private final String card;
+    private final String name;
+    private final String date;
+
+    public PurchaseConfirmation(String title, String message) {
+        this.title = title == null ? "" : title.trim();
+        this.message = message == null ? "" : message.trim();
+        this.transactionId = firstToken(valueOf(this.message, ID_LABEL));
+        this.amountText = valueOf(this.message, AMOUNT_LABEL);
+        this.card = valueOf(this.message, CARD_LABEL);
+        this.name = valueOf(this.message, NAME_LABEL);
+        this.date = valueOf(this.message, DATE_LABEL);
+    }
+
+    /**
+     * Construye la foto a partir del resultado del script de lectura del modal
+     * @param scriptResult mapa con "title" y "message", o null si el modal aún no está visible
+     * @return foto de la confirmación, o null si el modal aún no está listo
+     */
+    static PurchaseConfirmation fromScriptResult(Object scriptResult) {
+        if (!(scriptResult instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> result = (Map<?, ?>) scriptResult;
+        Object title = result.get("title");
+        Object message = result.get("message");
+        if (title == null || message == null || message.toString().trim().isEmpty()) {
+            return null;
+        }
+        return new PurchaseConfirmation(title.toString(), message.toString());
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * Importe tal como aparece en el modal
+     * @return por ejemplo "790 USD", o cadena vacía si no aparece
+     */
+    public String getAmountText() {
+        return amountText;
+    }
+
+    /**
+     * Importe de la compra
+     * @return importe en centavos
+     * @throws NumberFormatException si el modal no muestra importe
+     */
+    public long getAmountMinorUnits() {
+        return Money.parseMinorUnits(amountText);
+    }
+
+    public String getCard() {
+        return card;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public boolean isThankYouDisplayed() {
+        return title.contains(THANK_YOU_TITLE);
+    }
+
+    public boolean hasTransactionId() {
+        return !transactionId.isEmpty();
+    }
+
+    public boolean hasAmount() {
+        return !amountText.isEmpty();
+    }
+
+    public String toDetails() {
+        return String.format("Title: %s\nMessage: %s", title, message);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PurchaseConfirmation{id=%s, amount='%s', name='%s', date=%s}",
+            transactionId, amountText, name, date);
+    }
+
+    // Texto entre la etiqueta y la siguiente etiqueta conocida (o el final del mensaje)
+    private static String valueOf(String message, String label) {
+        int start = message.indexOf(label);
+        if (start < 0) {
+            return "";
+        }
+        start += label.length();
+        int end = message.length();
+        for (String other : LABELS) {
+            int next = message.indexOf(other, start);
+            if (next >= 0 && next < end) {
+                end = next;
+            }
+        }
+        return message.substring(start, end).trim();
+    }
+
+    private static String firstToken(String value) {
+        int end = 0;
+        while (end < value.length() && !Character.isWhitespace(value.charAt(end))) {
+            end++;
+        }
+        return value.substring(0, end);
+    }
+}
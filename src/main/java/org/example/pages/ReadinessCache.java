@@ -0,0 +1,99 @@
+package org.example.pages;
+
+import org.example.utils.BrowserScripts;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoriza, por driver, qué esperas de disponibilidad ya se cumplieron sobre el documento actual
+ * La clave es la URL más una marca de generación del DOM: un token que se asigna a cada documento nuevo
+ * y el número de peticiones XHR/fetch iniciadas. Una navegación (documento nuevo o marcado como saliente)
+ * o una petición que pueda volver a pintar la página cambian la marca, y la espera se repite
+ */
+public final class ReadinessCache {
+
+    // Marca de generación del documento actual, o null si no se puede memorizar ahora
+    // (navegación en curso, peticiones pendientes o contador de peticiones recién instalado)
+    private static final String GENERATION_SCRIPT =
+        "if (window.__navigatingAway) { return null; }" +
+        "if (!window.__readinessToken) {" +
+        "  window.__readinessToken = Date.now().toString(36) + Math.random().toString(36).slice(2);" +
+        "}" +
+        "if (window.__requestsStarted === undefined) { " + BrowserScripts.INSTALL_NETWORK_TRACKER + " return null; }" +
+        "if (window.__pendingRequests > 0) { return null; }" +
+        "return location.href + '#' + window.__readinessToken + ':' + window.__requestsStarted;";
+
+    // La misma marca como expresión, para incluirla en otros scripts sin una ida y vuelta más
+    static final String GENERATION_EXPRESSION = "(function () {" + GENERATION_SCRIPT + "})()";
+
+    private static final Map<WebDriver, Map<String, String>> SATISFIED = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private ReadinessCache() {
+    }
+
+    /**
+     * Ejecuta la espera solo si no se cumplió ya sobre la misma generación del documento
+     * @param driver driver de la sesión
+     * @param description nombre de la espera (una entrada por página y tipo de espera)
+     * @param waitForReady espera completa, ejecutada cuando la marca no coincide
+     */
+    public static void await(WebDriver driver, String description, Runnable waitForReady) {
+        String generation = generation(driver);
+        if (generation != null && generation.equals(satisfiedFor(driver).get(description))) {
+            HITS.increment();
+            return;
+        }
+        MISSES.increment();
+        waitForReady.run();
+        // Se toma la marca tras la espera: las peticiones que la página lanzó al cargar ya cuentan
+        String after = generation(driver);
+        if (after == null) {
+            satisfiedFor(driver).remove(description);
+        } else {
+            satisfiedFor(driver).put(description, after);
+        }
+    }
+
+    /**
+     * Olvida todas las esperas memorizadas para el driver
+     * @param driver driver de la sesión
+     */
+    public static void invalidate(WebDriver driver) {
+        SATISFIED.remove(driver);
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    private static Map<String, String> satisfiedFor(WebDriver driver) {
+        return SATISFIED.computeIfAbsent(driver, key -> Collections.synchronizedMap(new HashMap<>()));
+    }
+
+    /**
+     * Marca de generación del documento actual
+     * @param driver driver de la sesión
+     * @return marca, o null si ahora no se puede memorizar nada sobre el documento
+     */
+    static String generation(WebDriver driver) {
+        try {
+            Object generation = ((JavascriptExecutor) driver).executeScript(GENERATION_SCRIPT);
+            return generation == null ? null : generation.toString();
+        } catch (RuntimeException e) {
+            // Alert abierto o documento a medio cargar: no se memoriza y se espera normalmente
+            return null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.pages;
+
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * Contrato de disponibilidad de una página: qué debe existir para poder usarla
+ * Con las estrategias de carga eager/none la navegación vuelve antes de que termine la página,
+ * y es este contrato (no el fin de la carga de imágenes y scripts) el que decide cuándo seguir
+ */
+public interface ReadinessContract {
+
+    /**
+     * Condición evaluada en un único executeScript por sondeo
+     * @return condición que devuelve true en cuanto la página está lista para usarse
+     */
+    ExpectedCondition<Boolean> readiness();
+}
@@ -0,0 +1,86 @@
+package org.example.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Página HTML de un resultado de prueba: cabecera con el resultado y árbol de pasos con sus duraciones
+ * Se escribe directamente en el fichero, sin plantillas ni cadenas intermedias del tamaño de la página
+ */
+public class OutcomePageRenderer {
+
+    static final String STYLE = "<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}"
+        + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:left}ul{list-style:none;padding-left:1.5em}"
+        + ".SUCCESS{color:#2e7d32}.FAILURE,.ERROR,.COMPROMISED{color:#c62828}.PENDING,.IGNORED,.SKIPPED{color:#757575}"
+        + "pre{white-space:pre-wrap;background:#fafafa;padding:1em}</style>";
+
+    private OutcomePageRenderer() {
+    }
+
+    /**
+     * Escribe la página del resultado
+     * @param outcome resultado leído por OutcomeReader
+     * @param page fichero .html de destino
+     */
+    public static void write(OutcomeReader.Outcome outcome, Path page) {
+        try (Writer writer = Files.newBufferedWriter(page, StandardCharsets.UTF_8)) {
+            writer.write("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>");
+            writer.write(escape(outcome.getTitle()));
+            writer.write("</title>");
+            writer.write(STYLE);
+            writer.write("</head><body><p><a href=\"../index.html\">All results</a></p><h2>");
+            writer.write(escape(outcome.getStory()));
+            writer.write("</h2><h1>");
+            writer.write(escape(outcome.getTitle()));
+            writer.write("</h1><p class=\"" + escape(outcome.getResult()) + "\">" + escape(outcome.getResult())
+                + " in " + formatDuration(outcome.getDurationMillis()) + "</p>");
+            if (outcome.getFailureMessage() != null) {
+                writer.write("<pre>" + escape(outcome.getFailureMessage()) + "</pre>");
+            }
+            writeSteps(writer, outcome.getSteps());
+            writer.write("</body></html>");
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing report page " + page + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeSteps(Writer writer, List<OutcomeReader.Step> steps) throws IOException {
+        if (steps.isEmpty()) {
+            return;
+        }
+        writer.write("<ul>");
+        for (OutcomeReader.Step step : steps) {
+            writer.write("<li><span class=\"" + escape(step.getResult()) + "\">" + escape(step.getResult()) + "</span> "
+                + escape(step.getDescription()) + " <small>(" + formatDuration(step.getDurationMillis()) + ")</small>");
+            writeSteps(writer, step.getChildren());
+            writer.write("</li>");
+        }
+        writer.write("</ul>");
+    }
+
+    static String formatDuration(long millis) {
+        return millis < 1000 ? millis + " ms" : String.format("%.1f s", millis / 1000.0);
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': escaped.append("&lt;"); break;
+                case '>': escaped.append("&gt;"); break;
+                case '&': escaped.append("&amp;"); break;
+                case '"': escaped.append("&quot;"); break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
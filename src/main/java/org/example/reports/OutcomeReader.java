@@ -0,0 +1,186 @@
+package org.example.reports;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lee un fichero de resultado JSON de Serenity en streaming, quedándose solo con lo que se muestra en el informe
+ * (título, historia, resultado, duración, mensaje de error y árbol de pasos); el resto del documento se salta
+ * sin construir objetos
+ */
+public class OutcomeReader {
+
+    private static final Json JSON = new Json();
+
+    private OutcomeReader() {
+    }
+
+    /**
+     * Lee un resultado de prueba
+     * @param file fichero .json escrito por Serenity
+     * @return resultado leído, o null si el fichero no es un resultado de prueba (por ejemplo, un resumen)
+     */
+    public static Outcome read(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             JsonInput input = JSON.newInput(reader)) {
+            if (input.peek() != JsonType.START_MAP) {
+                return null;
+            }
+            Outcome outcome = new Outcome(file.getFileName().toString());
+            input.beginObject();
+            while (input.hasNext()) {
+                switch (input.nextName()) {
+                    case "name":
+                        outcome.name = nextText(input);
+                        break;
+                    case "title":
+                        outcome.title = nextText(input);
+                        break;
+                    case "userStory":
+                        outcome.story = readStoryName(input);
+                        break;
+                    case "result":
+                        outcome.result = nextText(input);
+                        break;
+                    case "duration":
+                        outcome.durationMillis = nextLong(input);
+                        break;
+                    case "testFailureMessage":
+                        outcome.failureMessage = nextText(input);
+                        break;
+                    case "testSteps":
+                        outcome.steps = readSteps(input);
+                        break;
+                    default:
+                        input.skipValue();
+                }
+            }
+            input.endObject();
+            return outcome.result == null ? null : outcome;
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Error reading Serenity outcome " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String readStoryName(JsonInput input) {
+        if (input.peek() != JsonType.START_MAP) {
+            input.skipValue();
+            return null;
+        }
+        String storyName = null;
+        input.beginObject();
+        while (input.hasNext()) {
+            if ("storyName".equals(input.nextName())) {
+                storyName = nextText(input);
+            } else {
+                input.skipValue();
+            }
+        }
+        input.endObject();
+        return storyName;
+    }
+
+    private static List<Step> readSteps(JsonInput input) {
+        if (input.peek() != JsonType.START_COLLECTION) {
+            input.skipValue();
+            return Collections.emptyList();
+        }
+        List<Step> steps = new ArrayList<>();
+        input.beginArray();
+        while (input.hasNext()) {
+            Step step = new Step();
+            input.beginObject();
+            while (input.hasNext()) {
+                switch (input.nextName()) {
+                    case "description":
+                        step.description = nextText(input);
+                        break;
+                    case "result":
+                        step.result = nextText(input);
+                        break;
+                    case "duration":
+                        step.durationMillis = nextLong(input);
+                        break;
+                    case "children":
+                        step.children = readSteps(input);
+                        break;
+                    default:
+                        input.skipValue();
+                }
+            }
+            input.endObject();
+            steps.add(step);
+        }
+        input.endArray();
+        return steps;
+    }
+
+    private static String nextText(JsonInput input) {
+        switch (input.peek()) {
+            case STRING:
+                return input.nextString();
+            case NUMBER:
+                return String.valueOf(input.nextNumber());
+            case BOOLEAN:
+                return String.valueOf(input.nextBoolean());
+            default:
+                input.skipValue();
+                return null;
+        }
+    }
+
+    private static long nextLong(JsonInput input) {
+        if (input.peek() == JsonType.NUMBER) {
+            return input.nextNumber().longValue();
+        }
+        input.skipValue();
+        return 0;
+    }
+
+    // Resultado de una prueba, con lo necesario para su página y su fila del índice
+    public static class Outcome {
+        private final String fileName;
+        private String name;
+        private String title;
+        private String story;
+        private String result;
+        private long durationMillis;
+        private String failureMessage;
+        private List<Step> steps = Collections.emptyList();
+
+        Outcome(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() { return fileName; }
+        public String getTitle() { return title != null ? title : name != null ? name : fileName; }
+        public String getStory() { return story != null ? story : ""; }
+        public String getResult() { return result; }
+        public long getDurationMillis() { return durationMillis; }
+        public String getFailureMessage() { return failureMessage; }
+        public List<Step> getSteps() { return steps; }
+    }
+
+    // Paso de una prueba, con sus pasos anidados
+    public static class Step {
+        private String description;
+        private String result;
+        private long durationMillis;
+        private List<Step> children = Collections.emptyList();
+
+        public String getDescription() { return description != null ? description : ""; }
+        public String getResult() { return result != null ? result : ""; }
+        public long getDurationMillis() { return durationMillis; }
+        public List<Step> getChildren() { return children; }
+    }
+}
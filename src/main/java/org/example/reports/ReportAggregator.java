@@ -0,0 +1,307 @@
+package org.example.reports;
+
+import org.example.config.TestConfiguration;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Agregador de informes alternativo al goal aggregate de serenity-maven-plugin para ejecuciones muy grandes
+ * Recorre los resultados JSON de Serenity de uno en uno (nunca los carga todos), genera la página de cada
+ * resultado en paralelo en todos los núcleos y, si ya existe un informe anterior, solo regenera los resultados
+ * cuyo fichero cambió (según el manifest.tsv del informe). En memoria solo quedan los resultados que se están
+ * procesando y una fila de resumen por resultado para el índice
+ */
+public class ReportAggregator {
+
+    public static final String MANIFEST_FILE = "manifest.tsv";
+    public static final String INDEX_FILE = "index.html";
+    private static final String PAGES_DIRECTORY = "outcomes";
+
+    private final Path outcomesDirectory;
+    private final Path outputDirectory;
+    private final int threads;
+    private final boolean incremental;
+
+    public ReportAggregator(Path outcomesDirectory, Path outputDirectory, int threads, boolean incremental) {
+        this.outcomesDirectory = outcomesDirectory;
+        this.outputDirectory = outputDirectory;
+        this.threads = Math.max(1, threads);
+        this.incremental = incremental;
+    }
+
+    /**
+     * Agregador con las rutas de TestConfiguration.Reports, un hilo por núcleo y modo incremental
+     * salvo -Dreport.incremental=false
+     * @return agregador configurado
+     */
+    public static ReportAggregator fromConfiguration() {
+        return new ReportAggregator(Paths.get(TestConfiguration.Reports.SERENITY_REPORTS_PATH),
+            Paths.get(TestConfiguration.Reports.AGGREGATE_PATH),
+            Runtime.getRuntime().availableProcessors(),
+            TestConfiguration.isIncrementalReport());
+    }
+
+    /**
+     * Genera o actualiza el informe
+     * @return cuántos resultados se leyeron, regeneraron, reutilizaron y eliminaron
+     */
+    public AggregationResult aggregate() {
+        long start = System.nanoTime();
+        Path pagesDirectory = outputDirectory.resolve(PAGES_DIRECTORY);
+        Map<String, ManifestEntry> previous = incremental ? readManifest() : new HashMap<>();
+        Map<String, ManifestEntry> current = new ConcurrentHashMap<>();
+        AtomicInteger rendered = new AtomicInteger();
+        AtomicInteger reused = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        // Como mucho dos resultados por hilo en vuelo: la memoria no depende del número de ficheros
+        Semaphore inFlight = new Semaphore(threads * 2);
+        ExecutorService renderers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "report-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(pagesDirectory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(outcomesDirectory, "*.json")) {
+                for (Path file : files) {
+                    if (failure.get() != null) {
+                        break;
+                    }
+                    String fileName = file.getFileName().toString();
+                    String fingerprint = fingerprint(file);
+                    ManifestEntry known = previous.get(fileName);
+                    if (known != null && known.fingerprint.equals(fingerprint)
+                            && (!known.isOutcome() || Files.exists(pagesDirectory.resolve(known.pageName())))) {
+                        current.put(fileName, known);
+                        reused.incrementAndGet();
+                        continue;
+                    }
+                    inFlight.acquireUninterruptibly();
+                    renderers.execute(() -> {
+                        try {
+                            OutcomeReader.Outcome outcome = OutcomeReader.read(file);
+                            ManifestEntry entry = ManifestEntry.of(fileName, fingerprint, outcome);
+                            if (outcome != null) {
+                                OutcomePageRenderer.write(outcome, pagesDirectory.resolve(entry.pageName()));
+                                rendered.incrementAndGet();
+                            }
+                            current.put(fileName, entry);
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading Serenity outcomes from " + outcomesDirectory + ": " + e.getMessage(), e);
+        } finally {
+            renderers.shutdown();
+            awaitRenderers(renderers);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        int removed = removeStalePages(previous, current, pagesDirectory);
+        writeIndex(current);
+        writeManifest(current);
+        long outcomes = current.values().stream().filter(ManifestEntry::isOutcome).count();
+        return new AggregationResult(outcomes, rendered.get(), reused.get(), removed, System.nanoTime() - start);
+    }
+
+    /**
+     * Punto de entrada para el perfil fast-report de Maven
+     */
+    public static void main(String[] args) {
+        System.out.println(fromConfiguration().aggregate());
+    }
+
+    // Tamaño y fecha de modificación: suficiente para saber si Serenity reescribió el resultado
+    private static String fingerprint(Path file) throws IOException {
+        return Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    private static void awaitRenderers(ExecutorService renderers) {
+        try {
+            renderers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            renderers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Report aggregation interrupted", e);
+        }
+    }
+
+    private int removeStalePages(Map<String, ManifestEntry> previous, Map<String, ManifestEntry> current, Path pagesDirectory) {
+        int removed = 0;
+        for (ManifestEntry entry : previous.values()) {
+            if (entry.isOutcome() && !current.containsKey(entry.fileName)) {
+                try {
+                    Files.deleteIfExists(pagesDirectory.resolve(entry.pageName()));
+                    removed++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return removed;
+    }
+
+    private Map<String, ManifestEntry> readManifest() {
+        Path manifest = outputDirectory.resolve(MANIFEST_FILE);
+        Map<String, ManifestEntry> entries = new HashMap<>();
+        if (!Files.exists(manifest)) {
+            return entries;
+        }
+        try (var lines = Files.lines(manifest, StandardCharsets.UTF_8)) {
+            lines.map(ManifestEntry::parse).forEach(entry -> entries.put(entry.fileName, entry));
+        } catch (IOException | RuntimeException e) {
+            // Un manifest dañado solo obliga a regenerar todo
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void writeManifest(Map<String, ManifestEntry> entries) {
+        try (BufferedWriter writer = Files.newBufferedWriter(outputDirectory.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            for (ManifestEntry entry : new TreeMap<>(entries).values()) {
+                writer.write(entry.format());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing report manifest: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeIndex(Map<String, ManifestEntry> entries) {
+        List<ManifestEntry> outcomes = new ArrayList<>();
+        Map<String, Integer> totals = new TreeMap<>();
+        for (ManifestEntry entry : entries.values()) {
+            if (entry.isOutcome()) {
+                outcomes.add(entry);
+                totals.merge(entry.result, 1, Integer::sum);
+            }
+        }
+        // Primero lo que falló, después por historia y título
+        outcomes.sort(Comparator.comparing((ManifestEntry entry) -> "SUCCESS".equals(entry.result))
+            .thenComparing(entry -> entry.story)
+            .thenComparing(entry -> entry.title));
+        try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve(INDEX_FILE), StandardCharsets.UTF_8)) {
+            writer.write("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>Test results</title>");
+            writer.write(OutcomePageRenderer.STYLE);
+            writer.write("</head><body><h1>Test results</h1><p>");
+            writer.write(outcomes.size() + " outcomes");
+            for (Map.Entry<String, Integer> total : totals.entrySet()) {
+                writer.write(" &middot; <span class=\"" + OutcomePageRenderer.escape(total.getKey()) + "\">"
+                    + OutcomePageRenderer.escape(total.getKey()) + ": " + total.getValue() + "</span>");
+            }
+            writer.write("</p><table><tr><th>Story</th><th>Test</th><th>Result</th><th>Duration</th></tr>");
+            for (ManifestEntry entry : outcomes) {
+                writer.write("<tr><td>" + OutcomePageRenderer.escape(entry.story) + "</td><td><a href=\"" + PAGES_DIRECTORY + "/"
+                    + entry.pageName() + "\">" + OutcomePageRenderer.escape(entry.title) + "</a></td><td class=\""
+                    + OutcomePageRenderer.escape(entry.result) + "\">" + OutcomePageRenderer.escape(entry.result) + "</td><td>"
+                    + OutcomePageRenderer.formatDuration(entry.durationMillis) + "</td></tr>");
+            }
+            writer.write("</table></body></html>");
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing report index: " + e.getMessage(), e);
+        }
+    }
+
+    // Fila del manifest: fichero, huella y resumen para el índice (resultado vacío si no era un resultado de prueba)
+    private static class ManifestEntry {
+        private final String fileName;
+        private final String fingerprint;
+        private final String result;
+        private final long durationMillis;
+        private final String story;
+        private final String title;
+
+        private ManifestEntry(String fileName, String fingerprint, String result, long durationMillis, String story, String title) {
+            this.fileName = fileName;
+            this.fingerprint = fingerprint;
+            this.result = result;
+            this.durationMillis = durationMillis;
+            this.story = story;
+            this.title = title;
+        }
+
+        static ManifestEntry of(String fileName, String fingerprint, OutcomeReader.Outcome outcome) {
+            return outcome == null
+                ? new ManifestEntry(fileName, fingerprint, "", 0, "", "")
+                : new ManifestEntry(fileName, fingerprint, outcome.getResult(), outcome.getDurationMillis(),
+                    outcome.getStory(), outcome.getTitle());
+        }
+
+        static ManifestEntry parse(String line) {
+            String[] fields = line.split("\t", -1);
+            return new ManifestEntry(fields[0], fields[1], fields[2], Long.parseLong(fields[3]), fields[4], fields[5]);
+        }
+
+        String format() {
+            return String.join("\t", fileName, fingerprint, result, String.valueOf(durationMillis), clean(story), clean(title));
+        }
+
+        boolean isOutcome() {
+            return !result.isEmpty();
+        }
+
+        String pageName() {
+            return fileName.substring(0, fileName.length() - ".json".length()) + ".html";
+        }
+
+        private static String clean(String value) {
+            return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+    }
+
+    // Resumen de una agregación
+    public static class AggregationResult {
+        private final long outcomes;
+        private final int rendered;
+        private final int reused;
+        private final int removed;
+        private final long elapsedNanos;
+
+        public AggregationResult(long outcomes, int rendered, int reused, int removed, long elapsedNanos) {
+            this.outcomes = outcomes;
+            this.rendered = rendered;
+            this.reused = reused;
+            this.removed = removed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getOutcomes() { return outcomes; }
+        public int getRendered() { return rendered; }
+        public int getReused() { return reused; }
+        public int getRemoved() { return removed; }
+        public double getElapsedMillis() { return elapsedNanos / 1_000_000.0; }
+
+        @Override
+        public String toString() {
+            return String.format("AggregationResult{outcomes=%d, rendered=%d, reused=%d, removed=%d, elapsed=%.0fms}",
+                outcomes, rendered, reused, removed, getElapsedMillis());
+        }
+    }
+}
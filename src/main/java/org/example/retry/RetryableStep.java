@@ -0,0 +1,16 @@
+package org.example.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca @Step idempotentes (lecturas y navegaciones) que se pueden repetir cuando fallan por un error transitorio
+ * Solo tiene efecto en tareas creadas con TimedSteps.create; no se debe usar en pasos que modifican el carrito
+ * o envían formularios
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RetryableStep {
+}
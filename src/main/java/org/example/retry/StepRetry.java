@@ -0,0 +1,225 @@
+package org.example.retry;
+
+import org.example.config.TestConfiguration;
+import org.example.utils.WaitEngine;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reintento de @RetryableStep ante errores transitorios de la UI
+ * Solo se repite el paso que falló (no la clase ordenada completa) y solo si el error es transitorio:
+ * elemento obsoleto, timeout del driver o alerta que aún no apareció. Una espera del WaitEngine que agotó su
+ * timeout completo no se repite (solo duplicaría la espera), los fallos de aserción y cualquier otro error se
+ * propagan en el primer intento. Un paso reintentable llamado desde otro que ya se reintenta se ejecuta una sola
+ * vez: solo reintenta el más externo. Los reintentos consumen un presupuesto común a toda la ejecución y quedan
+ * registrados por paso para el informe retries.json
+ */
+public class StepRetry {
+
+    public static final String REPORT_FILE = "retries.json";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepRetry.class);
+    private static final Map<String, RetryStats> STATISTICS = new ConcurrentHashMap<>();
+    private static final AtomicInteger BUDGET = new AtomicInteger(TestConfiguration.getStepRetryBudget());
+    // Paso reintentable en curso en el hilo: los anidados no se reintentan por su cuenta
+    private static final ThreadLocal<Boolean> IN_RETRIED_STEP = ThreadLocal.withInitial(() -> false);
+
+    private StepRetry() {
+    }
+
+    /**
+     * Ejecuta el paso reintentándolo mientras falle por un error transitorio y quede presupuesto
+     * @param stepName nombre del paso (por ejemplo "CartValidationTask.getProductCount")
+     * @param step invocación del paso original
+     * @return valor devuelto por el paso
+     */
+    public static Object call(String stepName, Callable<?> step) throws Exception {
+        if (IN_RETRIED_STEP.get()) {
+            // El paso externo ya repetirá todo si hace falta; reintentar aquí multiplicaría los intentos
+            return step.call();
+        }
+        IN_RETRIED_STEP.set(true);
+        try {
+            return callWithRetries(stepName, step);
+        } finally {
+            IN_RETRIED_STEP.remove();
+        }
+    }
+
+    private static Object callWithRetries(String stepName, Callable<?> step) throws Exception {
+        int maxAttempts = TestConfiguration.getStepRetryMaxAttempts();
+        // Tiempo gastado en repeticiones: desde el primer fallo hasta que el paso termina
+        long firstFailure = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = step.call();
+                if (attempt > 1) {
+                    stats(stepName).recordRecovered(System.nanoTime() - firstFailure);
+                }
+                return result;
+            } catch (Exception e) {
+                if (!isTransient(e) || attempt >= maxAttempts || !consumeBudget()) {
+                    if (attempt > 1) {
+                        stats(stepName).recordExhausted(System.nanoTime() - firstFailure);
+                    }
+                    throw e;
+                }
+                if (attempt == 1) {
+                    firstFailure = System.nanoTime();
+                }
+                stats(stepName).recordRetry(rootTransient(e));
+                LOGGER.warn("Retrying step {} (attempt {} of {}) after {}: {}", stepName, attempt + 1, maxAttempts,
+                    rootTransient(e).getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Indica si el error (o alguna de sus causas) es de los que desaparecen al repetir el paso
+     * @param error excepción lanzada por el paso
+     * @return true para StaleElementReference, Timeout y NoAlertPresent; false si antes aparece en la cadena una
+     * espera que agotó su timeout (ConditionTimeoutException), aunque su causa sea un elemento obsoleto
+     */
+    public static boolean isTransient(Throwable error) {
+        return rootTransient(error) != null;
+    }
+
+    private static Throwable rootTransient(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof WaitEngine.ConditionTimeoutException) {
+                return null;
+            }
+            if (current instanceof StaleElementReferenceException
+                    || current instanceof TimeoutException
+                    || current instanceof NoAlertPresentException) {
+                return current;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private static boolean consumeBudget() {
+        return BUDGET.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0;
+    }
+
+    private static RetryStats stats(String stepName) {
+        return STATISTICS.computeIfAbsent(stepName, key -> new RetryStats());
+    }
+
+    public static int getRemainingBudget() {
+        return BUDGET.get();
+    }
+
+    /**
+     * Pasos que necesitaron al menos un reintento, ordenados por nombre
+     * @return copia de las estadísticas acumuladas en la ejecución
+     */
+    public static Map<String, RetryStats> getStatistics() {
+        return new TreeMap<>(STATISTICS);
+    }
+
+    public static boolean isEmpty() {
+        return STATISTICS.isEmpty();
+    }
+
+    public static String toJson() {
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (Map.Entry<String, RetryStats> entry : getStatistics().entrySet()) {
+            RetryStats stats = entry.getValue();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("retries", stats.getRetries());
+            summary.put("recovered", stats.getRecovered());
+            summary.put("exhausted", stats.getExhausted());
+            summary.put("retryTimeMs", Math.round(stats.getRetryTimeMillis() * 100) / 100.0);
+            summary.put("errors", stats.getErrors());
+            steps.put(entry.getKey(), summary);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("budget", TestConfiguration.getStepRetryBudget());
+        document.put("remainingBudget", getRemainingBudget());
+        document.put("steps", steps);
+        return new Json().toJson(document);
+    }
+
+    /**
+     * Escribe retries.json en el directorio indicado
+     * @param directory directorio de salida (se crea si no existe)
+     */
+    public static void exportTo(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(REPORT_FILE), toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing retry report to " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Descarta las estadísticas y restablece el presupuesto configurado
+     */
+    public static void reset() {
+        STATISTICS.clear();
+        BUDGET.set(TestConfiguration.getStepRetryBudget());
+    }
+
+    // Reintentos acumulados de un paso
+    public static class RetryStats {
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder retryTimeNanos = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        void recordRetry(Throwable error) {
+            retries.increment();
+            errors.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+        }
+
+        void recordRecovered(long elapsedNanos) {
+            recovered.increment();
+            retryTimeNanos.add(elapsedNanos);
+        }
+
+        void recordExhausted(long elapsedNanos) {
+            exhausted.increment();
+            retryTimeNanos.add(elapsedNanos);
+        }
+
+        public long getRetries() { return retries.sum(); }
+        public long getRecovered() { return recovered.sum(); }
+        public long getExhausted() { return exhausted.sum(); }
+        public double getRetryTimeMillis() { return retryTimeNanos.sum() / 1_000_000.0; }
+
+        public Map<String, Long> getErrors() {
+            Map<String, Long> counts = new TreeMap<>();
+            errors.forEach((name, count) -> counts.put(name, count.sum()));
+            return Collections.unmodifiableMap(counts);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("RetryStats{retries=%d, recovered=%d, exhausted=%d, retryTime=%.1fms, errors=%s}",
+                getRetries(), getRecovered(), getExhausted(), getRetryTimeMillis(), getErrors());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.screenshots;
+
+import org.example.config.TestConfiguration;
+import org.example.driver.DriverPool;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Capturas de pantalla fuera del hilo de la prueba
+ * En el hilo de la prueba solo se piden los bytes PNG al navegador; la decodificación, la comparación con la
+ * captura anterior de la misma sesión (dHash de 64 bits), el redimensionado y la escritura en JPEG se hacen en
+ * un pool acotado de hilos en segundo plano. Si hay demasiadas capturas pendientes la prueba espera (backpressure)
+ * en lugar de acumular imágenes en memoria. Las capturas de pruebas fallidas las toma Serenity
+ * (serenity.take.screenshots=FOR_FAILURES) para que queden en su informe
+ */
+public class ScreenshotPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScreenshotPipeline.class);
+    private static final ScreenshotPipeline INSTANCE = new ScreenshotPipeline(ScreenshotPolicy.fromConfiguration(),
+        Paths.get(TestConfiguration.Reports.SCREENSHOTS_PATH), TestConfiguration.Screenshots.MAX_PENDING,
+        Executors.newFixedThreadPool(TestConfiguration.Screenshots.WRITER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+
+    private final ScreenshotPolicy policy;
+    private final Path directory;
+    private final int maxPending;
+    private final Semaphore pending;
+    private final Executor writers;
+    private final AtomicInteger sequence = new AtomicInteger();
+    // Las capturas de una misma sesión se procesan en orden para compararlas con la anterior; claves débiles
+    // para no retener sesiones descartadas por el pool (los futuros solo guardan el hash)
+    private final Map<WebDriver, CompletableFuture<Long>> lastFrames = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong captureNanos = new AtomicLong();
+
+    /**
+     * Crea un pipeline independiente del compartido
+     * @param policy pasos que se capturan
+     * @param directory carpeta de los JPEG
+     * @param maxPending capturas pendientes de escribir a partir de las cuales la prueba espera
+     * @param writers hilos que decodifican, comparan y escriben las capturas
+     */
+    public ScreenshotPipeline(ScreenshotPolicy policy, Path directory, int maxPending, Executor writers) {
+        this.policy = policy;
+        this.directory = directory;
+        this.maxPending = Math.max(1, maxPending);
+        this.pending = new Semaphore(this.maxPending);
+        this.writers = writers;
+    }
+
+    public static ScreenshotPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    public ScreenshotPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Captura la pantalla del driver del hilo actual si la política cubre el paso terminado
+     * @param taskStep true para pasos de tareas, false para métodos de páginas
+     * @param stepName nombre del paso, usado en el nombre del fichero
+     */
+    public void afterStep(boolean taskStep, String stepName) {
+        WebDriver driver = DriverPool.getInstance().current();
+        if (driver != null && policy.capturesStep(taskStep)) {
+            capture(driver, stepName);
+        }
+    }
+
+    /**
+     * Olvida la última captura de la sesión: se llama al asignar el driver a una prueba nueva, para que su
+     * primer paso no se descarte como duplicado del último paso de la prueba anterior
+     * @param driver driver que empieza una prueba
+     */
+    public void startTest(WebDriver driver) {
+        lastFrames.remove(driver);
+    }
+
+    /**
+     * Pide la captura al navegador y deja el resto del trabajo al pool de escritura
+     * @param driver driver del que se captura la pantalla
+     * @param label etiqueta del fichero
+     */
+    public void capture(WebDriver driver, String label) {
+        if (!(driver instanceof TakesScreenshot)) {
+            return;
+        }
+        long start = System.nanoTime();
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (RuntimeException e) {
+            // Una captura fallida (alerta abierta, sesión cerrada) nunca debe hacer fallar la prueba
+            LOGGER.debug("Could not capture screenshot {}: {}", label, e.getMessage());
+            return;
+        }
+        pending.acquireUninterruptibly();
+        captured.incrementAndGet();
+        String fileName = String.format("%06d-%s.jpg", sequence.incrementAndGet(), sanitize(label));
+        lastFrames.compute(driver, (key, previous) -> (previous == null ? CompletableFuture.completedFuture((Long) null) : previous)
+            .thenApplyAsync(previousHash -> process(png, previousHash, fileName), writers));
+        captureNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    // Devuelve el hash de la captura para compararlo con la siguiente de la misma sesión
+    private Long process(byte[] png, Long previousHash, String fileName) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                return previousHash;
+            }
+            long hash = differenceHash(image);
+            if (previousHash != null && Long.bitCount(hash ^ previousHash) <= TestConfiguration.Screenshots.DUPLICATE_MAX_DISTANCE) {
+                duplicates.incrementAndGet();
+                return previousHash;
+            }
+            write(downsize(image), directory.resolve(fileName));
+            written.incrementAndGet();
+            return hash;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not write screenshot {}: {}", fileName, e.getMessage());
+            return previousHash;
+        } finally {
+            pending.release();
+        }
+    }
+
+    /**
+     * Hash perceptual por diferencias: la imagen reducida a 9x8 en grises, un bit por cada par de píxeles vecinos
+     * Dos capturas visualmente iguales difieren en muy pocos bits aunque cambien detalles de compresión o cursor
+     * @param image captura decodificada
+     * @return hash de 64 bits
+     */
+    public static long differenceHash(BufferedImage image) {
+        BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = small.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, 9, 8, null);
+        graphics.dispose();
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                hash <<= 1;
+                if (small.getRaster().getSample(x, y, 0) > small.getRaster().getSample(x + 1, y, 0)) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static BufferedImage downsize(BufferedImage image) {
+        int maxWidth = TestConfiguration.Screenshots.MAX_WIDTH;
+        int width = Math.min(image.getWidth(), maxWidth);
+        int height = (int) Math.max(1, (long) image.getHeight() * width / image.getWidth());
+        // JPEG no admite canal alfa: siempre se pinta sobre RGB
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return target;
+    }
+
+    private void write(BufferedImage image, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam parameters = writer.getDefaultWriteParam();
+        parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parameters.setCompressionQuality(TestConfiguration.Screenshots.JPEG_QUALITY);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), parameters);
+        } finally {
+            writer.dispose();
+        }
+        bytesWritten.addAndGet(Files.size(file));
+    }
+
+    private static String sanitize(String label) {
+        return label.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Espera a que se escriban todas las capturas pendientes, incluidas las de sesiones ya descartadas
+     */
+    public void flush() {
+        pending.acquireUninterruptibly(maxPending);
+        pending.release(maxPending);
+    }
+
+    /**
+     * Capturas pedidas al navegador que aún no se han escrito ni descartado
+     * @return número de capturas en cola o en proceso
+     */
+    public int getPending() {
+        return maxPending - pending.availablePermits();
+    }
+
+    public long getCaptured() { return captured.get(); }
+    public long getDuplicates() { return duplicates.get(); }
+    public long getWritten() { return written.get(); }
+    public long getBytesWritten() { return bytesWritten.get(); }
+
+    /**
+     * Tiempo medio que cada captura ocupó el hilo de la prueba
+     * @return milisegundos
+     */
+    public double getAverageCaptureMillis() {
+        long count = captured.get();
+        return count == 0 ? 0.0 : captureNanos.get() / 1_000_000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScreenshotPipeline{policy=%s, captured=%d, duplicates=%d, written=%d, size=%.1fMB, avgCaptureOnTestThread=%.1fms}",
+            policy, getCaptured(), getDuplicates(), getWritten(), getBytesWritten() / 1024.0 / 1024.0, getAverageCaptureMillis());
+    }
+}
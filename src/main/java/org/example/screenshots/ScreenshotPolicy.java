@@ -0,0 +1,51 @@
+package org.example.screenshots;
+
+import org.example.config.TestConfiguration;
+
+import java.util.Arrays;
+
+/**
+ * Cuándo captura pantallas el ScreenshotPipeline
+ * Los fallos de prueba los captura Serenity (FOR_FAILURES) con cualquier política
+ */
+public enum ScreenshotPolicy {
+
+    // Solo al fallar una prueba
+    FAILURES,
+    // Además, al terminar cada @Step de las tareas
+    TASK,
+    // Además, al terminar cada @Step de tareas y páginas
+    STEP;
+
+    /**
+     * Indica si hay que capturar al terminar un paso
+     * @param taskStep true para pasos de tareas, false para métodos de páginas
+     * @return true si la política cubre ese paso
+     */
+    public boolean capturesStep(boolean taskStep) {
+        return this == STEP || (this == TASK && taskStep);
+    }
+
+    /**
+     * Obtiene la política indicada por screenshots.policy
+     * @return política configurada (FAILURES si no se indicó)
+     */
+    public static ScreenshotPolicy fromConfiguration() {
+        return parse(TestConfiguration.getScreenshotPolicy());
+    }
+
+    /**
+     * Interpreta el nombre de una política sin distinguir mayúsculas ni espacios alrededor
+     * @param policy failures, task o step
+     * @return política indicada
+     * @throws RuntimeException si el nombre no corresponde a ninguna política
+     */
+    public static ScreenshotPolicy parse(String policy) {
+        try {
+            return valueOf(policy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown screenshot policy: " + policy
+                + " (expected one of " + Arrays.toString(values()) + ")");
+        }
+    }
+}
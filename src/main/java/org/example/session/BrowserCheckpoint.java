@@ -0,0 +1,169 @@
+package org.example.session;
+
+import org.example.utils.BrowserScripts;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Foto del estado del navegador tras un punto de control con nombre (por ejemplo "cart-with-two-phones"):
+ * cookies, localStorage, sessionStorage, URL actual y productos del carrito
+ * Se puede restaurar en cualquier sesión del pool para saltarse el prefijo del recorrido que la produjo.
+ * El carrito de Demoblaze vive en el servidor ligado a la cookie "user", así que al restaurar se usa una
+ * cookie nueva y se vuelve a sembrar un carrito propio con los mismos productos: ninguna sesión comparte carrito
+ */
+public class BrowserCheckpoint {
+
+    public static final String CART_COOKIE_NAME = "user";
+
+    // Lee la URL y ambos storages del documento actual en un único viaje al navegador
+    private static final String CAPTURE_SCRIPT =
+        "var dump = function (storage) {" +
+        "  var entries = {};" +
+        "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); entries[key] = storage.getItem(key); }" +
+        "  return entries;" +
+        "};" +
+        "return {url: location.href, local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+        "var fill = function (storage, entries) {" +
+        "  storage.clear();" +
+        "  for (var key in entries) { storage.setItem(key, entries[key]); }" +
+        "};" +
+        "fill(window.localStorage, arguments[0]);" +
+        "fill(window.sessionStorage, arguments[1]);";
+
+    private final String name;
+    private final String url;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final List<Integer> cartProductIds;
+
+    public BrowserCheckpoint(String name, String url, List<Cookie> cookies, Map<String, String> localStorage,
+                             Map<String, String> sessionStorage, List<Integer> cartProductIds) {
+        this.name = name;
+        this.url = url;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+        this.cartProductIds = Collections.unmodifiableList(new ArrayList<>(cartProductIds));
+    }
+
+    /**
+     * Captura el estado del navegador en la página actual
+     * @param driver driver de la sesión, situado en una página del sitio
+     * @param name nombre del punto de control
+     * @param cartProductIds productos del carrito del servidor en ese momento (leídos por el API)
+     * @return checkpoint con cookies, storages, URL y productos del carrito
+     */
+    public static BrowserCheckpoint capture(WebDriver driver, String name, List<Integer> cartProductIds) {
+        Object result = ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        if (!(result instanceof Map)) {
+            throw new RuntimeException("Could not read browser state for checkpoint " + name + ": " + result);
+        }
+        Map<?, ?> state = (Map<?, ?>) result;
+        return new BrowserCheckpoint(name, String.valueOf(state.get("url")), new ArrayList<>(driver.manage().getCookies()),
+            toStringMap(state.get("local")), toStringMap(state.get("session")), cartProductIds);
+    }
+
+    /**
+     * Restaura el estado en el driver indicado y vuelve a cargar la URL del checkpoint
+     * Cookies y storage solo se pueden fijar desde un documento del mismo origen, así que si la sesión
+     * está en otro sitio (about:blank tras reciclarse) se abre antes la URL del checkpoint
+     * @param driver driver de la sesión en la que se restaura
+     * @param cartSeeder siembra los productos del checkpoint en el carrito de la cookie que recibe;
+     *                   se llama antes de recargar la URL para que la página ya muestre el carrito
+     */
+    public void restore(WebDriver driver, Consumer<String> cartSeeder) {
+        if (!originOf(driver.getCurrentUrl()).equals(originOf(url))) {
+            driver.get(url);
+        }
+        driver.manage().deleteAllCookies();
+        // Carrito propio para esta sesión: nunca se reutiliza la cookie "user" capturada
+        String cartCookie = UUID.randomUUID().toString();
+        boolean cartCookieAdded = false;
+        for (Cookie cookie : cookies) {
+            String value = cookie.getValue();
+            if (CART_COOKIE_NAME.equals(cookie.getName())) {
+                value = cartCookie;
+                cartCookieAdded = true;
+            }
+            // Sin dominio: se asigna al host actual y no choca con el punto inicial de los dominios de la cookie
+            driver.manage().addCookie(new Cookie.Builder(cookie.getName(), value)
+                .path(cookie.getPath())
+                .expiresOn(cookie.getExpiry())
+                .isSecure(cookie.isSecure())
+                .isHttpOnly(cookie.isHttpOnly())
+                .sameSite(cookie.getSameSite())
+                .build());
+        }
+        if (!cartCookieAdded) {
+            driver.manage().addCookie(new Cookie(CART_COOKIE_NAME, cartCookie));
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, localStorage, sessionStorage);
+        if (!cartProductIds.isEmpty()) {
+            cartSeeder.accept(cartCookie);
+        }
+        BrowserScripts.markNavigationStart(driver);
+        driver.get(url);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public List<Integer> getCartProductIds() {
+        return cartProductIds;
+    }
+
+    private static Map<String, String> toStringMap(Object value) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                entries.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+        return entries;
+    }
+
+    private static String originOf(String address) {
+        try {
+            URI uri = URI.create(address);
+            return uri.getScheme() + "://" + uri.getAuthority();
+        } catch (RuntimeException e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BrowserCheckpoint{name=%s, url=%s, cookies=%d, localStorage=%d, sessionStorage=%d, cart=%s}",
+            name, url, cookies.size(), localStorage.size(), sessionStorage.size(), cartProductIds);
+    }
+}
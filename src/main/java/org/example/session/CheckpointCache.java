@@ -0,0 +1,131 @@
+package org.example.session;
+
+import org.example.config.TestConfiguration;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché en memoria de checkpoints del navegador, compartida por todas las sesiones del pool
+ * Cada checkpoint caduca pasado su TTL y, al superar el máximo de entradas, se descarta el usado hace más tiempo (LRU)
+ */
+public class CheckpointCache {
+
+    private static final CheckpointCache SHARED = new CheckpointCache(
+        Duration.ofSeconds(TestConfiguration.getCheckpointTtlSeconds()),
+        TestConfiguration.getCheckpointMaxEntries(), System::nanoTime);
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    // En orden de acceso: el primero es el candidato a desalojo
+    private final LinkedHashMap<String, Stored> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CheckpointCache(Duration ttl, int maxEntries, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    public static CheckpointCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Guarda (o reemplaza) un checkpoint y desaloja los más antiguos si se supera el máximo
+     * @param checkpoint checkpoint capturado
+     */
+    public synchronized void put(BrowserCheckpoint checkpoint) {
+        long now = clock.getAsLong();
+        entries.put(checkpoint.getName(), new Stored(checkpoint, now + ttlNanos));
+        purgeExpired(now);
+        Iterator<Stored> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Obtiene un checkpoint vigente
+     * @param name nombre del checkpoint
+     * @return checkpoint, o null si no existe o ya caducó
+     */
+    public synchronized BrowserCheckpoint get(String name) {
+        Stored stored = entries.get(name);
+        if (stored != null && stored.expiresAtNanos - clock.getAsLong() <= 0) {
+            entries.remove(name);
+            expirations.incrementAndGet();
+            stored = null;
+        }
+        if (stored == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return stored.checkpoint;
+    }
+
+    public synchronized void invalidate(String name) {
+        entries.remove(name);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Map.Entry<String, Stored>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().expiresAtNanos - now <= 0) {
+                iterator.remove();
+                expirations.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CheckpointCache{size=%d, hits=%d, misses=%d, expired=%d, evicted=%d}",
+            size(), getHits(), getMisses(), getExpirations(), getEvictions());
+    }
+
+    private static final class Stored {
+        private final BrowserCheckpoint checkpoint;
+        private final long expiresAtNanos;
+
+        private Stored(BrowserCheckpoint checkpoint, long expiresAtNanos) {
+            this.checkpoint = checkpoint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
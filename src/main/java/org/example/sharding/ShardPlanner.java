@@ -0,0 +1,76 @@
+package org.example.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Reparto de las unidades de la suite (clases ordenadas o pruebas sueltas) entre varias JVM o nodos de CI
+ * Con duraciones de ejecuciones anteriores aplica LPT (la unidad más larga primero, al shard menos cargado), que deja
+ * cada shard cerca de total/n; las unidades sin historial cuentan con la mediana de las conocidas. Sin ningún
+ * historial se reparte por hash del nombre. El resultado solo depende de los nombres y las duraciones, así que
+ * todos los nodos calculan el mismo plan sin coordinarse
+ */
+public class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Asigna cada unidad a un shard
+     * @param units nombres de las unidades descubiertas
+     * @param durations duraciones conocidas en milisegundos por unidad (puede estar vacío)
+     * @param shardCount número de shards
+     * @return shard (de 0 a shardCount-1) de cada unidad
+     */
+    public static Map<String, Integer> plan(Collection<String> units, Map<String, Long> durations, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1: " + shardCount);
+        }
+        // Orden fijo de entrada para que el plan no dependa del orden de descubrimiento
+        List<String> sortedUnits = new ArrayList<>(new TreeSet<>(units));
+        Map<String, Integer> assignment = new HashMap<>();
+        List<Long> known = new ArrayList<>();
+        for (String unit : sortedUnits) {
+            if (durations.containsKey(unit)) {
+                known.add(durations.get(unit));
+            }
+        }
+        if (known.isEmpty()) {
+            for (String unit : sortedUnits) {
+                assignment.put(unit, hashShard(unit, shardCount));
+            }
+            return assignment;
+        }
+        known.sort(null);
+        long median = known.get(known.size() / 2);
+        sortedUnits.sort(Comparator.comparingLong((String unit) -> durations.getOrDefault(unit, median)).reversed()
+            .thenComparing(Comparator.naturalOrder()));
+        long[] loads = new long[shardCount];
+        for (String unit : sortedUnits) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += durations.getOrDefault(unit, median);
+            assignment.put(unit, lightest);
+        }
+        return assignment;
+    }
+
+    /**
+     * Shard de una unidad cuando no hay historial
+     * @param unit nombre de la unidad
+     * @param shardCount número de shards
+     * @return shard estable entre ejecuciones y máquinas
+     */
+    public static int hashShard(String unit, int shardCount) {
+        return Math.floorMod(unit.hashCode(), shardCount);
+    }
+}
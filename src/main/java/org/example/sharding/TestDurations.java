@@ -0,0 +1,114 @@
+package org.example.sharding;
+
+import org.example.config.TestConfiguration;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Duraciones por unidad de la suite guardadas entre ejecuciones (unidad=milisegundos, un fichero .properties)
+ * Cada ejecución sobrescribe las unidades que ejecutó y conserva las demás, así que los ficheros de varios shards
+ * se pueden ir actualizando por separado. El reparto se planifica con la foto tomada al empezar (snapshot)
+ */
+public class TestDurations {
+
+    private static final Map<Path, Map<String, Long>> SNAPSHOTS = new ConcurrentHashMap<>();
+    // Un monitor por fichero: FileChannel.lock no admite dos bloqueos solapados de la misma JVM
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private TestDurations() {
+    }
+
+    public static Path defaultFile() {
+        return Paths.get(TestConfiguration.getShardDurationsFile());
+    }
+
+    /**
+     * Lee las duraciones registradas
+     * @param file fichero de duraciones
+     * @return duraciones por unidad, vacío si el fichero no existe
+     */
+    public static Map<String, Long> load(Path file) {
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading test durations from " + file + ": " + e.getMessage(), e);
+        }
+        for (String unit : properties.stringPropertyNames()) {
+            try {
+                durations.put(unit, Long.parseLong(properties.getProperty(unit).trim()));
+            } catch (NumberFormatException e) {
+                // Entrada dañada: esa unidad se planifica como desconocida
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Duraciones con las que se planifica el reparto: se leen una sola vez por JVM y no cambian durante la
+     * ejecución, aunque esta misma ejecución u otro shard actualicen el fichero mientras tanto
+     * @param file fichero de duraciones
+     * @return copia inmutable de las duraciones leídas la primera vez
+     */
+    public static Map<String, Long> snapshot(Path file) {
+        return SNAPSHOTS.computeIfAbsent(file.toAbsolutePath().normalize(),
+            path -> Collections.unmodifiableMap(load(path)));
+    }
+
+    /**
+     * Añade o actualiza duraciones, conservando las de unidades que no se ejecutaron esta vez
+     * Varios procesos pueden fusionar a la vez: lectura y escritura van bajo un bloqueo exclusivo del fichero
+     * .lock vecino, y el fichero nuevo se escribe aparte y sustituye al anterior con un renombrado atómico,
+     * así que quien lo lea nunca ve uno a medio escribir
+     * @param file fichero de duraciones
+     * @param measured duraciones medidas en esta ejecución
+     */
+    public static void merge(Path file, Map<String, Long> measured) {
+        Path target = file.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(target.getParent());
+            // El bloqueo del fichero es por proceso: dentro de la JVM se serializa antes por ruta
+            synchronized (LOCKS.computeIfAbsent(target, path -> new Object())) {
+                try (FileChannel channel = FileChannel.open(target.resolveSibling(target.getFileName() + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock lock = channel.lock()) {
+                    Map<String, Long> durations = load(target);
+                    durations.putAll(measured);
+                    Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+                    try {
+                        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                            writer.write("# Duración en ms por clase ordenada o prueba (Clase#metodo), usada por shard.index/shard.count\n");
+                            for (Map.Entry<String, Long> entry : durations.entrySet()) {
+                                writer.write(entry.getKey().replace("#", "\\#") + "=" + entry.getValue() + "\n");
+                            }
+                        }
+                        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } finally {
+                        Files.deleteIfExists(temporary);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing test durations to " + file + ": " + e.getMessage(), e);
+        }
+    }
+}
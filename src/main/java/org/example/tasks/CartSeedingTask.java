@@ -0,0 +1,79 @@
+package org.example.tasks;
+
+import net.serenitybdd.annotations.Step;
+import org.example.api.DemoblazeApiClient;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class CartSeedingTask {
+
+    private static final String SESSION_COOKIE_NAME = "user";
+
+    private final DemoblazeApiClient apiClient;
+    private final WebDriver driver;
+    private final String sessionCookie;
+
+    public CartSeedingTask(WebDriver driver) {
+        this(driver, new DemoblazeApiClient());
+    }
+
+    public CartSeedingTask(WebDriver driver, DemoblazeApiClient apiClient) {
+        this.driver = driver;
+        this.apiClient = apiClient;
+        this.sessionCookie = null;
+    }
+
+    // Sin navegador: útil contra el stub local o para preparar datos desde otra sesión
+    public CartSeedingTask(DemoblazeApiClient apiClient, String sessionCookie) {
+        this.driver = null;
+        this.apiClient = apiClient;
+        this.sessionCookie = sessionCookie;
+    }
+
+    @Step("Seed cart with products {0} through the API")
+    public List<String> seedCart(int... productIds) {
+        return apiClient.addAllToCart(getSessionCookie(), productIds);
+    }
+
+    @Step("Get cart items through the API")
+    public List<DemoblazeApiClient.CartItem> getCartItems() {
+        return apiClient.viewCart(getSessionCookie());
+    }
+
+    @Step("Remove cart item {0} through the API")
+    public void removeItem(String itemId) {
+        apiClient.deleteItem(itemId);
+    }
+
+    @Step("Clear cart through the API")
+    public void clearCart() {
+        List<String> itemIds = getCartItems().stream()
+                .map(DemoblazeApiClient.CartItem::getId)
+                .collect(Collectors.toList());
+        apiClient.deleteItems(itemIds);
+    }
+
+    /**
+     * Obtiene la cookie de sesión anónima ("user") del navegador, creándola si el sitio aún no la ha fijado
+     * El navegador debe estar en una página del sitio para poder leer o fijar la cookie
+     * @return valor de la cookie usado por el API para identificar el carrito
+     */
+    public String getSessionCookie() {
+        if (sessionCookie != null) {
+            return sessionCookie;
+        }
+        if (driver == null) {
+            throw new IllegalStateException("No browser session available to read the cart cookie");
+        }
+        // Se lee en cada llamada: el pool limpia las cookies al reciclar la sesión
+        Cookie cookie = driver.manage().getCookieNamed(SESSION_COOKIE_NAME);
+        if (cookie == null) {
+            cookie = new Cookie(SESSION_COOKIE_NAME, UUID.randomUUID().toString());
+            driver.manage().addCookie(cookie);
+        }
+        return cookie.getValue();
+    }
+}
@@ -2,6 +2,10 @@ package org.example.tasks;
 
 import net.serenitybdd.annotations.Step;
 import org.example.pages.CartPage;
+import org.example.pages.CartSnapshot;
+import org.example.metrics.TimedSteps;
+import org.example.retry.RetryableStep;
+import org.openqa.selenium.WebDriver;
 import java.util.List;
 
 public class CartValidationTask {
@@ -12,55 +16,75 @@ public class CartValidationTask {
         this.cartPage = new CartPage();
     }
 
+    public CartValidationTask(WebDriver driver) {
+        this.cartPage = TimedSteps.create(CartPage.class, driver);
+    }
+
     @Step("Validate that cart contains exactly {0} items")
+    @RetryableStep
     public boolean validateCartItemCount(int expectedCount) {
         cartPage.waitForCartPageToLoad();
         return cartPage.cartContainsExactly(expectedCount);
     }
 
     @Step("Validate that product {0} is present in cart")
+    @RetryableStep
     public boolean validateProductInCart(String productName) {
         cartPage.waitForCartPageToLoad();
         return cartPage.isProductInCart(productName);
     }
 
     @Step("Validate that both products {0} and {1} are present in cart")
+    @RetryableStep
     public boolean validateBothProductsInCart(String product1, String product2) {
         cartPage.waitForCartPageToLoad();
         return cartPage.areBothProductsInCart(product1, product2);
     }
 
     @Step("Validate that total price is calculated correctly")
+    @RetryableStep
     public boolean validateTotalPriceCalculation() {
         cartPage.waitForCartPageToLoad();
         return cartPage.isTotalPriceCorrect();
     }
 
     @Step("Get cart summary for reporting")
+    @RetryableStep
     public String getCartSummary() {
         cartPage.waitForCartPageToLoad();
         return cartPage.getCartSummary();
     }
 
+    @Step("Get cart snapshot")
+    @RetryableStep
+    public CartSnapshot getCartSnapshot() {
+        cartPage.waitForCartPageToLoad();
+        return cartPage.takeSnapshot();
+    }
+
     @Step("Get total price from cart")
+    @RetryableStep
     public double getTotalPrice() {
         cartPage.waitForCartPageToLoad();
         return cartPage.getTotalPriceAsNumber();
     }
 
     @Step("Get product names in cart")
+    @RetryableStep
     public List<String> getProductNamesInCart() {
         cartPage.waitForCartPageToLoad();
         return cartPage.getProductNamesInCart();
     }
 
     @Step("Get product prices in cart")
+    @RetryableStep
     public List<String> getProductPricesInCart() {
         cartPage.waitForCartPageToLoad();
         return cartPage.getProductPricesInCart();
     }
 
     @Step("Validate cart is not empty")
+    @RetryableStep
     public boolean validateCartIsNotEmpty() {
         cartPage.waitForCartPageToLoad();
         return cartPage.isCartNotEmpty();
@@ -73,45 +97,54 @@ public class CartValidationTask {
     }
 
     @Step("Validate cart page is displayed correctly")
+    @RetryableStep
     public boolean isCartPageDisplayedCorrectly() {
         return cartPage.areCartPageElementsPresent();
     }
 
     @Step("Get product count in cart")
+    @RetryableStep
     public int getProductCount() {
         cartPage.waitForCartPageToLoad();
         return cartPage.getProductCount();
     }
 
     @Step("Check if product {0} is in cart")
+    @RetryableStep
     public boolean hasProductInCart(String productName) {
         cartPage.waitForCartPageToLoad();
         return cartPage.isProductInCart(productName);
     }
 
     @Step("Validate total calculation")
+    @RetryableStep
     public boolean validateTotalCalculation() {
         return cartPage.isTotalPriceCorrect();
     }
 
     @Step("Validate individual prices sum equals total")
+    @RetryableStep
     public boolean validateIndividualPricesSumEqualsTotal() {
         return cartPage.validateIndividualPricesSumEqualsTotal();
     }
 
     @Step("Get cart total for validation")
+    @RetryableStep
     public double getCartTotal() {
         return cartPage.getCartTotalForValidation();
     }
 
     @Step("Perform complete cart validation")
+    @RetryableStep
     public CartValidationResult performCompleteCartValidation(String product1, String product2) {
         cartPage.waitForCartPageToLoad();
         
-        boolean hasCorrectItemCount = cartPage.cartContainsExactly(2);
-        boolean hasBothProducts = cartPage.areBothProductsInCart(product1, product2);
-        boolean hasCorrectTotal = cartPage.isTotalPriceCorrect();
-        boolean isNotEmpty = cartPage.isCartNotEmpty();
+        // Una sola lectura del carrito responde a todas las validaciones
+        CartSnapshot snapshot = cartPage.takeSnapshot();
+        boolean hasCorrectItemCount = snapshot.getItemCount() == 2;
+        boolean hasBothProducts = snapshot.containsProduct(product1) && snapshot.containsProduct(product2);
+        boolean hasCorrectTotal = snapshot.isTotalCorrect();
+        boolean isNotEmpty = !snapshot.isEmpty();
         
         return new CartValidationResult(hasCorrectItemCount, hasBothProducts, hasCorrectTotal, isNotEmpty);
     }
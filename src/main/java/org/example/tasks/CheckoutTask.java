@@ -2,6 +2,9 @@ package org.example.tasks;
 
 import net.serenitybdd.annotations.Step;
 import org.example.pages.CheckoutPage;
+import org.example.pages.PurchaseConfirmation;
+import org.example.metrics.TimedSteps;
+import org.openqa.selenium.WebDriver;
 
 public class CheckoutTask {
 
@@ -11,6 +14,10 @@ public class CheckoutTask {
         this.checkoutPage = new CheckoutPage();
     }
 
+    public CheckoutTask(WebDriver driver) {
+        this.checkoutPage = TimedSteps.create(CheckoutPage.class, driver);
+    }
+
     @Step("Complete purchase form with customer details")
     public void completePurchaseForm(String name, String country, String city, String card, String month, String year) {
         checkoutPage.waitForOrderModal();
@@ -44,17 +51,11 @@ public class CheckoutTask {
 
             // Complete purchase
             checkoutPage.clickPurchase();
-            checkoutPage.waitForConfirmationModal();
-
-            // Validate confirmation
-            boolean thankYouMessage = checkoutPage.isThankYouMessageDisplayed();
-            boolean transactionId = checkoutPage.isTransactionIdPresent();
-            boolean amount = checkoutPage.isAmountPresent();
 
-            String confirmationDetails = checkoutPage.getFullConfirmationDetails();
+            // Validate confirmation from a single read of the modal
+            PurchaseConfirmation confirmation = checkoutPage.getPurchaseConfirmation();
 
-            return new PurchaseResult(fieldsValid, buttonClickable, thankYouMessage, 
-                                    transactionId && amount, confirmationDetails);
+            return new PurchaseResult(fieldsValid, buttonClickable, confirmation);
 
         } catch (Exception e) {
             return new PurchaseResult(false, false, false, false, "Exception: " + e.getMessage());
@@ -78,6 +79,11 @@ public class CheckoutTask {
         return checkoutPage.getTransactionId();
     }
 
+    @Step("Get purchase confirmation")
+    public PurchaseConfirmation getPurchaseConfirmation() {
+        return checkoutPage.getPurchaseConfirmation();
+    }
+
     @Step("Get amount from confirmation")
     public String getConfirmationAmount() {
         return checkoutPage.getConfirmationAmount();
@@ -101,6 +107,12 @@ public class CheckoutTask {
         checkoutPage.fillPurchaseForm(name, country, city, card, month, year);
     }
 
+    @Step("Type checkout form with real keystrokes")
+    public void typeCheckoutForm(String name, String country, String city, String card, String month, String year) {
+        checkoutPage.waitForOrderModal();
+        checkoutPage.typePurchaseForm(name, country, city, card, month, year);
+    }
+
     @Step("Complete purchase")
     public void completePurchase() {
         checkoutPage.clickPurchase();
@@ -149,6 +161,7 @@ public class CheckoutTask {
         private final boolean thankYouMessageDisplayed;
         private final boolean confirmationDetailsPresent;
         private final String details;
+        private final PurchaseConfirmation confirmation;
 
         public PurchaseResult(boolean formFieldsValid, boolean purchaseButtonClickable, 
                             boolean thankYouMessageDisplayed, boolean confirmationDetailsPresent, 
@@ -158,6 +171,16 @@ public class CheckoutTask {
             this.thankYouMessageDisplayed = thankYouMessageDisplayed;
             this.confirmationDetailsPresent = confirmationDetailsPresent;
             this.details = details;
+            this.confirmation = null;
+        }
+
+        public PurchaseResult(boolean formFieldsValid, boolean purchaseButtonClickable, PurchaseConfirmation confirmation) {
+            this.formFieldsValid = formFieldsValid;
+            this.purchaseButtonClickable = purchaseButtonClickable;
+            this.thankYouMessageDisplayed = confirmation.isThankYouDisplayed();
+            this.confirmationDetailsPresent = confirmation.hasTransactionId() && confirmation.hasAmount();
+            this.details = confirmation.toDetails();
+            this.confirmation = confirmation;
         }
 
         public boolean isFormFieldsValid() { return formFieldsValid; }
@@ -165,6 +188,8 @@ public class CheckoutTask {
         public boolean isThankYouMessageDisplayed() { return thankYouMessageDisplayed; }
         public boolean isConfirmationDetailsPresent() { return confirmationDetailsPresent; }
         public String getDetails() { return details; }
+        // null when the purchase did not reach the confirmation modal
+        public PurchaseConfirmation getConfirmation() { return confirmation; }
 
         public boolean isAllValid() {
             return formFieldsValid && purchaseButtonClickable && 
@@ -0,0 +1,68 @@
+package org.example.tasks;
+
+import net.serenitybdd.annotations.Step;
+import org.example.api.DemoblazeApiClient;
+import org.example.session.BrowserCheckpoint;
+import org.example.session.CheckpointCache;
+import org.openqa.selenium.WebDriver;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CheckpointTask {
+
+    private final WebDriver driver;
+    private final CheckpointCache cache;
+    private final DemoblazeApiClient apiClient;
+
+    public CheckpointTask(WebDriver driver) {
+        this(driver, CheckpointCache.shared(), new DemoblazeApiClient());
+    }
+
+    public CheckpointTask(WebDriver driver, CheckpointCache cache, DemoblazeApiClient apiClient) {
+        this.driver = driver;
+        this.cache = cache;
+        this.apiClient = apiClient;
+    }
+
+    @Step("Save browser checkpoint {0}")
+    public void saveCheckpoint(String name) {
+        // Se guardan los productos, no el carrito: cada restauración siembra el suyo
+        List<Integer> cartProductIds = new CartSeedingTask(driver, apiClient).getCartItems().stream()
+                .map(DemoblazeApiClient.CartItem::getProductId)
+                .collect(Collectors.toList());
+        cache.put(BrowserCheckpoint.capture(driver, name, cartProductIds));
+    }
+
+    @Step("Restore browser checkpoint {0}")
+    public boolean restoreCheckpoint(String name) {
+        BrowserCheckpoint checkpoint = cache.get(name);
+        if (checkpoint == null) {
+            return false;
+        }
+        int[] productIds = checkpoint.getCartProductIds().stream().mapToInt(Integer::intValue).toArray();
+        checkpoint.restore(driver, cartCookie -> new CartSeedingTask(apiClient, cartCookie).seedCart(productIds));
+        return true;
+    }
+
+    /**
+     * Restaura el checkpoint si sigue en la caché; si no, recorre el prefijo por la UI y lo guarda
+     * El prefijo debe dejar el navegador en la página que se quiere recuperar después
+     * @param name nombre del checkpoint
+     * @param journeyPrefix pasos que producen el estado cuando no hay checkpoint
+     * @return true si se restauró, false si hubo que recorrer el prefijo
+     */
+    @Step("Restore checkpoint {0} or replay its journey")
+    public boolean restoreOrReplay(String name, Runnable journeyPrefix) {
+        if (restoreCheckpoint(name)) {
+            return true;
+        }
+        journeyPrefix.run();
+        saveCheckpoint(name);
+        return false;
+    }
+
+    @Step("Discard browser checkpoint {0}")
+    public void discardCheckpoint(String name) {
+        cache.invalidate(name);
+    }
+}
@@ -3,6 +3,9 @@ package org.example.tasks;
 import net.serenitybdd.annotations.Step;
 import org.example.pages.HomePage;
 import org.example.pages.CartPage;
+import org.example.metrics.TimedSteps;
+import org.example.retry.RetryableStep;
+import org.openqa.selenium.WebDriver;
 
 public class NavigationTask {
 
@@ -14,23 +17,32 @@ public class NavigationTask {
         this.cartPage = new CartPage();
     }
 
+    public NavigationTask(WebDriver driver) {
+        this.homePage = TimedSteps.create(HomePage.class, driver);
+        this.cartPage = TimedSteps.create(CartPage.class, driver);
+    }
+
     @Step("Navigate to Demoblaze homepage")
+    @RetryableStep
     public void navigateToHomePage() {
         homePage.openHomePage();
     }
 
     @Step("Navigate to homepage and wait for categories to load")
+    @RetryableStep
     public void navigateToHomePageAndWaitForCategories() {
         homePage.openHomePage();
         homePage.waitForCategoriesVisible();
     }
 
     @Step("Wait for homepage to be fully loaded")
+    @RetryableStep
     public void waitForHomepageFullyLoaded() {
         homePage.waitForHomepageFullyLoaded();
     }
 
     @Step("Navigate to cart page")
+    @RetryableStep
     public void navigateToCart() {
         homePage.navigateToCart();
         cartPage.waitForCartPageToLoad();
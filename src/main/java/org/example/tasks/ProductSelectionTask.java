@@ -1,21 +1,35 @@
 package org.example.tasks;
 
 import net.serenitybdd.annotations.Step;
+import org.example.api.DemoblazeApiClient;
+import org.example.config.TestConfiguration;
 import org.example.pages.HomePage;
 import org.example.pages.ProductPage;
+import org.example.metrics.TimedSteps;
+import org.openqa.selenium.WebDriver;
+import java.util.List;
 
 public class ProductSelectionTask {
 
     private HomePage homePage;
     private ProductPage productPage;
+    private List<DemoblazeApiClient.Product> phoneCatalog;
 
     public ProductSelectionTask() {
         this.homePage = new HomePage();
         this.productPage = new ProductPage();
     }
 
+    public ProductSelectionTask(WebDriver driver) {
+        this.homePage = TimedSteps.create(HomePage.class, driver);
+        this.productPage = TimedSteps.create(ProductPage.class, driver);
+    }
+
     @Step("Select and add first phone to cart with full validation")
     public String selectAndAddFirstPhoneToCart() {
+        if (isDeepLinkMode()) {
+            return addPhoneToCartByDeepLink(0);
+        }
         // Navigate to phones category and wait for products
         homePage.clickPhonesCategory();
         homePage.waitForProductsToLoad();
@@ -34,6 +48,9 @@ public class ProductSelectionTask {
 
     @Step("Select and add second product from Phones category to cart")
     public String selectAndAddSecondPhoneToCart() {
+        if (isDeepLinkMode()) {
+            return addPhoneToCartByDeepLink(1);
+        }
         homePage.navigateBackToHome();
         homePage.waitForPageToLoad();
         homePage.clickPhonesCategory();
@@ -51,6 +68,37 @@ public class ProductSelectionTask {
         return productName;
     }
 
+    @Step("Add product {0} to cart through its product page")
+    public String addProductToCartById(String productId) {
+        productPage.openProductById(productId);
+        String productName = productPage.getProductName();
+        productPage.clickAddToCart();
+        productPage.handleAlert();
+        return productName;
+    }
+
+    @Step("Add phone number {0} of the catalog to cart through its product page")
+    public String addPhoneToCartByDeepLink(int position) {
+        List<DemoblazeApiClient.Product> phones = getPhoneCatalog();
+        if (phones.size() <= position) {
+            throw new RuntimeException(String.format("Not enough phones in catalog. Requested index %d but only %d available",
+                position, phones.size()));
+        }
+        return addProductToCartById(String.valueOf(phones.get(position).getId()));
+    }
+
+    // Mismo orden que el listado de Phones: el catálogo del API es el que pinta la página de inicio
+    private List<DemoblazeApiClient.Product> getPhoneCatalog() {
+        if (phoneCatalog == null) {
+            phoneCatalog = new DemoblazeApiClient().productsByCategory(TestConfiguration.ProductSelection.PHONES_CATEGORY);
+        }
+        return phoneCatalog;
+    }
+
+    private static boolean isDeepLinkMode() {
+        return "deeplink".equalsIgnoreCase(TestConfiguration.getProductSelectionMode());
+    }
+
     @Step("Select product by name {0} and add to cart")
     public boolean selectProductAndAddToCart(String productName) {
         try {
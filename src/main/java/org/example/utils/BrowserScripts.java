@@ -0,0 +1,88 @@
+package org.example.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+
+/**
+ * Scripts de JavaScript compartidos por las páginas
+ * Permiten esperar a resultados reales (peticiones XHR/fetch terminadas) en lugar de pausas fijas
+ */
+public class BrowserScripts {
+
+    // Cuenta las peticiones XHR y fetch en curso en window.__pendingRequests y las iniciadas en
+    // window.__requestsStarted (idempotente)
+    public static final String INSTALL_NETWORK_TRACKER =
+        "if (window.__pendingRequests === undefined) {" +
+        "  window.__pendingRequests = 0;" +
+        "  window.__requestsStarted = 0;" +
+        "  var originalSend = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function () {" +
+        "    window.__pendingRequests++;" +
+        "    window.__requestsStarted++;" +
+        "    this.addEventListener('loadend', function () { window.__pendingRequests--; });" +
+        "    return originalSend.apply(this, arguments);" +
+        "  };" +
+        "  if (window.fetch) {" +
+        "    var originalFetch = window.fetch;" +
+        "    window.fetch = function () {" +
+        "      window.__pendingRequests++;" +
+        "      window.__requestsStarted++;" +
+        "      return originalFetch.apply(this, arguments).finally(function () { window.__pendingRequests--; });" +
+        "    };" +
+        "  }" +
+        "}";
+
+    // Devuelve el número de peticiones en curso, o -1 si el contador no está instalado en la página actual
+    public static final String PENDING_REQUESTS =
+        "return window.__pendingRequests === undefined ? -1 : window.__pendingRequests;";
+
+    // Marca el documento actual como saliente: los contratos de disponibilidad lo ignoran hasta que se reemplace
+    public static final String MARK_NAVIGATION_START = "window.__navigatingAway = true;";
+
+    private BrowserScripts() {
+    }
+
+    /**
+     * Registra el contador de peticiones para que se instale en cada documento nuevo antes de sus propios scripts
+     * Así las esperas ven también las peticiones que la página lanza al cargar (eager/none)
+     * @param driver driver de la sesión; sin DevTools no se hace nada
+     * @return true si quedó registrado
+     */
+    public static boolean installNetworkTrackerOnNewDocuments(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return false;
+        }
+        ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+            Map.of("source", INSTALL_NETWORK_TRACKER));
+        return true;
+    }
+
+    /**
+     * Marca el documento actual antes de una navegación, para no confundirlo con la página destino
+     * @param driver driver de la sesión
+     */
+    public static void markNavigationStart(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(MARK_NAVIGATION_START);
+    }
+
+    /**
+     * Instala el contador de peticiones en la página actual
+     * @param driver driver de la sesión
+     */
+    public static void installNetworkTracker(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(INSTALL_NETWORK_TRACKER);
+    }
+
+    /**
+     * Indica si no quedan peticiones XHR/fetch en curso en la página actual
+     * @param driver driver de la sesión
+     * @return true si el contador está instalado y vale cero
+     */
+    public static boolean isNetworkIdle(WebDriver driver) {
+        Object pending = ((JavascriptExecutor) driver).executeScript(PENDING_REQUESTS);
+        return pending instanceof Number && ((Number) pending).longValue() == 0;
+    }
+}
@@ -59,6 +59,10 @@ public class LocatorManager {
         return getLocator("homepage.products.cards");
     }
     
+    public static String getHomepageProductPrices() {
+        return getLocator("homepage.products.prices");
+    }
+    
     public static String getHomepageCartLink() {
         return getLocator("homepage.cart.link");
     }
@@ -0,0 +1,124 @@
+package org.example.utils;
+
+/**
+ * Importes de Demoblaze en unidades menores (centavos) como long
+ * Lee "$360 *includes tax", "790" o "Amount: 790 USD" directamente de la secuencia de caracteres,
+ * sin recortar, dividir ni crear cadenas intermedias, y sin pasar por coma flotante
+ */
+public final class Money {
+
+    public static final int MINOR_UNITS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Lee el primer importe del texto
+     * @param text texto con el importe ("$360 *includes tax", "790", "Amount: 790 USD")
+     * @return importe en centavos
+     * @throws NumberFormatException si el texto no contiene ningún número
+     */
+    public static long parseMinorUnits(CharSequence text) {
+        return parseMinorUnits(text, 0);
+    }
+
+    /**
+     * Lee el primer importe del texto a partir de la posición indicada
+     * Admite signo negativo, símbolo $, separadores de miles (1,250) y hasta dos decimales (los demás se truncan)
+     * @param text texto con el importe
+     * @param from posición desde la que se busca el primer dígito (por ejemplo, tras "Amount:")
+     * @return importe en centavos
+     * @throws NumberFormatException si no hay ningún número a partir de esa posición
+     */
+    public static long parseMinorUnits(CharSequence text, int from) {
+        int length = text.length();
+        int index = Math.max(0, from);
+        boolean negative = false;
+        // Busca el primer dígito; un '-' solo cuenta si entre él y el número únicamente hay '$' o espacios
+        while (index < length && !isDigit(text.charAt(index))) {
+            char c = text.charAt(index);
+            if (c == '-') {
+                negative = true;
+            } else if (c != '$' && !Character.isWhitespace(c)) {
+                negative = false;
+            }
+            index++;
+        }
+        if (index == length) {
+            throw new NumberFormatException("No amount found in: " + text);
+        }
+        long units = 0;
+        while (index < length) {
+            char c = text.charAt(index);
+            if (isDigit(c)) {
+                units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+            } else if (c != ',' || index + 1 >= length || !isDigit(text.charAt(index + 1))) {
+                break;
+            }
+            index++;
+        }
+        long fraction = 0;
+        if (index + 1 < length && text.charAt(index) == '.' && isDigit(text.charAt(index + 1))) {
+            index++;
+            int scale = MINOR_UNITS_PER_UNIT / 10;
+            while (index < length && isDigit(text.charAt(index))) {
+                if (scale > 0) {
+                    fraction += (text.charAt(index) - '0') * scale;
+                    scale /= 10;
+                }
+                index++;
+            }
+        }
+        long minorUnits = Math.addExact(Math.multiplyExact(units, MINOR_UNITS_PER_UNIT), fraction);
+        return negative ? -minorUnits : minorUnits;
+    }
+
+    /**
+     * Lee el importe que sigue a una etiqueta ("Amount:") dentro de un texto más largo
+     * @param text texto completo (por ejemplo, el mensaje de confirmación de compra)
+     * @param label etiqueta que precede al importe
+     * @return importe en centavos
+     * @throws NumberFormatException si la etiqueta no aparece o no va seguida de un número
+     */
+    public static long parseMinorUnitsAfter(String text, String label) {
+        int labelIndex = text.indexOf(label);
+        if (labelIndex < 0) {
+            throw new NumberFormatException("No '" + label + "' found in: " + text);
+        }
+        return parseMinorUnits(text, labelIndex + label.length());
+    }
+
+    /**
+     * Convierte un importe en unidades (790.0) a centavos, redondeando al centavo más cercano
+     * @param amount importe en unidades
+     * @return importe en centavos
+     */
+    public static long fromUnits(double amount) {
+        return Math.round(amount * MINOR_UNITS_PER_UNIT);
+    }
+
+    /**
+     * Convierte centavos a unidades para las APIs que siguen devolviendo double
+     * @param minorUnits importe en centavos
+     * @return importe en unidades
+     */
+    public static double toUnits(long minorUnits) {
+        return (double) minorUnits / MINOR_UNITS_PER_UNIT;
+    }
+
+    /**
+     * Formatea el importe como lo muestra Demoblaze: sin decimales si son cero ("790"), con dos si no ("790.50")
+     * @param minorUnits importe en centavos
+     * @return texto del importe
+     */
+    public static String format(long minorUnits) {
+        long units = minorUnits / MINOR_UNITS_PER_UNIT;
+        long cents = Math.abs(minorUnits % MINOR_UNITS_PER_UNIT);
+        String sign = minorUnits < 0 && units == 0 ? "-" : "";
+        return cents == 0 ? sign + units : String.format("%s%d.%02d", sign, units, cents);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
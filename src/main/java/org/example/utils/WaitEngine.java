@@ -0,0 +1,189 @@
+package org.example.utils;
+
+import org.example.config.TestConfiguration;
+import org.example.metrics.SuiteMetrics;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Motor de esperas compartido por todas las páginas
+ * Sondea rápido al principio y va espaciando los intentos (backoff), toma los timeouts de TestConfiguration.Timeouts
+ * y registra cuánto tardó realmente cada condición
+ */
+public class WaitEngine implements Wait<WebDriver> {
+
+    private static final Map<String, ConditionStats> STATISTICS = new ConcurrentHashMap<>();
+    // "[[RemoteWebDriver: chrome on linux (sessionid)] -> css selector: .x]" → "css selector: .x"
+    private static final Pattern ELEMENT_REFERENCE = Pattern.compile("\\[\\[[^\\]]*\\]\\s*->\\s*([^\\]]*)\\]");
+    private static final Pattern SESSION_ID = Pattern.compile("\\s*\\([0-9a-fA-F-]{16,}\\)");
+    private static final int MAX_DESCRIPTION_LENGTH = 160;
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    private WaitEngine(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Obtiene un motor de esperas para el driver con el timeout por defecto
+     * Cada página guarda el suyo; no hay registro global que retenga drivers de sesiones ya cerradas
+     * @param driver driver de la sesión
+     * @return motor de esperas para ese driver
+     */
+    public static WaitEngine forDriver(WebDriver driver) {
+        return new WaitEngine(driver, Duration.ofSeconds(TestConfiguration.Timeouts.DEFAULT_WAIT));
+    }
+
+    /**
+     * Obtiene un motor de esperas con el timeout del tipo de operación indicado
+     * @param driver driver de la sesión
+     * @param operationType tipo de operación (default, extended, short, page_load)
+     * @return motor de esperas con ese timeout
+     */
+    public static WaitEngine forOperation(WebDriver driver, String operationType) {
+        return forDriver(driver).withTimeout(Duration.ofSeconds(TestConfiguration.getTimeoutForOperation(operationType)));
+    }
+
+    public WaitEngine withTimeout(Duration newTimeout) {
+        return newTimeout.equals(timeout) ? this : new WaitEngine(driver, newTimeout);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(condition, describe(condition));
+    }
+
+    /**
+     * Nombre estable de una condición para sus estadísticas: sin id de sesión ni referencias a elementos concretos
+     * "visibility of [[ChromeDriver: chrome on linux (5f1c...)] -> id: name]" queda "visibility of id: name" y una
+     * lambda se nombra por la clase que la declara, de modo que las series coinciden entre pruebas y ejecuciones
+     * @param condition condición de espera
+     * @return descripción estable
+     */
+    public static String describe(Object condition) {
+        String className = condition.getClass().getName();
+        int lambda = className.indexOf("$$Lambda");
+        if (lambda >= 0) {
+            String owner = className.substring(0, lambda);
+            return owner.substring(owner.lastIndexOf('.') + 1) + " condition";
+        }
+        String description = ELEMENT_REFERENCE.matcher(String.valueOf(condition)).replaceAll("$1");
+        description = SESSION_ID.matcher(description).replaceAll("");
+        return description.length() > MAX_DESCRIPTION_LENGTH ? description.substring(0, MAX_DESCRIPTION_LENGTH) : description;
+    }
+
+    /**
+     * Espera hasta que la condición devuelva un valor distinto de null/false
+     * @param condition condición a evaluar contra el driver
+     * @param description nombre con el que se registran los tiempos de la condición
+     * @return valor devuelto por la condición
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, String description) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = TestConfiguration.Timeouts.POLL_INITIAL_MILLIS;
+        RuntimeException lastException = null;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(description, System.nanoTime() - start, false);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                record(description, System.nanoTime() - start, true);
+                throw new ConditionTimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d ms with backoff polling)",
+                    description, timeout.toMillis()), timeout, lastException);
+            }
+            sleep(Math.min(pollMillis, Math.max(1, remainingNanos / 1_000_000)));
+            pollMillis = Math.min(TestConfiguration.Timeouts.POLL_MAX_MILLIS,
+                (long) (pollMillis * TestConfiguration.Timeouts.POLL_BACKOFF_FACTOR));
+        }
+    }
+
+    /**
+     * Tiempos registrados por condición, ordenados por nombre
+     * @return copia de las estadísticas acumuladas en la ejecución
+     */
+    public static Map<String, ConditionStats> getStatistics() {
+        return new TreeMap<>(STATISTICS);
+    }
+
+    private static void record(String description, long elapsedNanos, boolean timedOut) {
+        STATISTICS.computeIfAbsent(description, key -> new ConditionStats()).record(elapsedNanos, timedOut);
+        SuiteMetrics.record(SuiteMetrics.Category.WAIT, description, elapsedNanos);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    // Condición que no se cumplió en todo su timeout: repetir el paso solo duplicaría la espera
+    public static class ConditionTimeoutException extends TimeoutException {
+        private final Duration timeout;
+
+        ConditionTimeoutException(String message, Duration timeout, Throwable lastError) {
+            super(message, lastError);
+            this.timeout = timeout;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+    }
+
+    // Tiempos acumulados de una condición
+    public static class ConditionStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long elapsedNanos, boolean timedOut) {
+            count.increment();
+            if (timedOut) {
+                timeouts.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getTimeouts() { return timeouts.sum(); }
+        public double getAverageMillis() { return getCount() == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / getCount(); }
+        public double getMaxMillis() { return maxNanos.get() / 1_000_000.0; }
+
+        @Override
+        public String toString() {
+            return String.format("ConditionStats{count=%d, timeouts=%d, avg=%.1fms, max=%.1fms}",
+                getCount(), getTimeouts(), getAverageMillis(), getMaxMillis());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.listeners;
+
+import org.example.config.TestConfiguration;
+import org.example.driver.DriverPool;
+import org.junit.platform.launcher.LauncherDiscoveryListener;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+
+/**
+ * Arranca las sesiones del pool de navegadores en cuanto JUnit empieza a descubrir pruebas
+ * Así el coste de lanzar Chrome se solapa con el descubrimiento en lugar de pagarse en serie
+ */
+public class BrowserPoolWarmupListener implements LauncherDiscoveryListener {
+
+    private static volatile boolean warmedUp = false;
+
+    @Override
+    public void launcherDiscoveryStarted(LauncherDiscoveryRequest request) {
+        int poolSize = TestConfiguration.getBrowserPoolSize();
+        if (poolSize > 0 && !warmedUp) {
+            warmedUp = true;
+            DriverPool.getInstance().prewarm(poolSize);
+        }
+    }
+}
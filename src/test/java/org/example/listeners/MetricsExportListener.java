@@ -0,0 +1,26 @@
+package org.example.listeners;
+
+import org.example.config.TestConfiguration;
+import org.example.metrics.SuiteMetrics;
+import org.example.retry.StepRetry;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.nio.file.Paths;
+
+/**
+ * Vuelca los histogramas de latencia de la ejecución en target/metrics/ (latency.prom y latency.json)
+ * y, si algún paso necesitó reintentos, el informe retries.json, cuando JUnit cierra la sesión del launcher
+ */
+public class MetricsExportListener implements LauncherSessionListener {
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        if (!SuiteMetrics.isEmpty()) {
+            SuiteMetrics.exportTo(Paths.get(TestConfiguration.Reports.METRICS_PATH));
+        }
+        if (!StepRetry.isEmpty()) {
+            StepRetry.exportTo(Paths.get(TestConfiguration.Reports.METRICS_PATH));
+        }
+    }
+}
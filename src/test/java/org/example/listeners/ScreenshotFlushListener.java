@@ -0,0 +1,24 @@
+package org.example.listeners;
+
+import org.example.screenshots.ScreenshotPipeline;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Espera a que el ScreenshotPipeline termine de escribir las capturas pendientes al cerrar la sesión de JUnit
+ */
+public class ScreenshotFlushListener implements LauncherSessionListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScreenshotFlushListener.class);
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        ScreenshotPipeline pipeline = ScreenshotPipeline.getInstance();
+        pipeline.flush();
+        if (pipeline.getCaptured() > 0) {
+            LOGGER.info("{}", pipeline);
+        }
+    }
+}
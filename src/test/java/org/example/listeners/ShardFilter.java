@@ -0,0 +1,81 @@
+package org.example.listeners;
+
+import org.example.config.TestConfiguration;
+import org.example.sharding.ShardPlanner;
+import org.example.sharding.TestDurations;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Con -Dshard.index=i -Dshard.count=n deja solo las pruebas del shard i
+ * La unidad de reparto es la clase entera si ordena sus métodos (@TestMethodOrder, como CompraTest) y la prueba
+ * suelta en otro caso; el plan lo calcula ShardPlanner con las duraciones registradas por TestDurationListener
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private TestDescriptor plannedRoot;
+    private Map<String, Integer> plan;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        // Un shard.index fuera de rango no ejecutaría nada en silencio: falla al descubrir las pruebas
+        int shardCount = TestConfiguration.getShardCount();
+        int shardIndex = TestConfiguration.getShardIndex();
+        if (shardCount <= 1 || !(descriptor.getSource().orElse(null) instanceof MethodSource)) {
+            // Los contenedores se conservan; JUnit descarta los que se quedan sin pruebas
+            return FilterResult.included("sharding disabled or container");
+        }
+        String unit = unitKey(descriptor.getSource().get());
+        int shard = planFor(descriptor).getOrDefault(unit, ShardPlanner.hashShard(unit, shardCount));
+        return FilterResult.includedIf(shard == shardIndex,
+            () -> unit + " runs in shard " + shardIndex,
+            () -> unit + " runs in shard " + shard);
+    }
+
+    // El plan necesita todas las unidades: se calcula una vez por árbol descubierto
+    private synchronized Map<String, Integer> planFor(TestDescriptor descriptor) {
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        if (root != plannedRoot) {
+            Set<String> units = new TreeSet<>();
+            root.getDescendants().forEach(child -> child.getSource()
+                .filter(MethodSource.class::isInstance)
+                .ifPresent(source -> units.add(unitKey(source))));
+            // Con la foto de las duraciones tomada al empezar: el plan no cambia si el fichero se actualiza a mitad
+            plan = ShardPlanner.plan(units, TestDurations.snapshot(TestDurations.defaultFile()), TestConfiguration.getShardCount());
+            plannedRoot = root;
+        }
+        return plan;
+    }
+
+    /**
+     * Nombre de la unidad de reparto a la que pertenece una prueba o clase
+     * @param source origen del descriptor o identificador de JUnit
+     * @return nombre de la clase si ordena sus métodos, Clase#metodo en otro caso, o null si no es una prueba Java
+     */
+    public static String unitKey(TestSource source) {
+        if (source instanceof ClassSource) {
+            return ((ClassSource) source).getClassName();
+        }
+        if (source instanceof MethodSource) {
+            MethodSource method = (MethodSource) source;
+            return isOrdered(method) ? method.getClassName() : method.getClassName() + "#" + method.getMethodName();
+        }
+        return null;
+    }
+
+    public static boolean isOrdered(MethodSource method) {
+        return method.getJavaClass().isAnnotationPresent(TestMethodOrder.class);
+    }
+}
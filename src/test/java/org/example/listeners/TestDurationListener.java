@@ -0,0 +1,72 @@
+package org.example.listeners;
+
+import org.example.metrics.SuiteMetrics;
+import org.example.sharding.TestDurations;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mide cada unidad de reparto de ShardFilter y la guarda en el fichero de duraciones al terminar la ejecución
+ * Las clases ordenadas se miden enteras (incluidos @BeforeAll/@AfterAll); el resto, prueba a prueba.
+ * Cada prueba se registra además como escenario en SuiteMetrics
+ */
+public class TestDurationListener implements TestExecutionListener {
+
+    private final Map<String, Long> startNanos = new ConcurrentHashMap<>();
+    private final Map<String, Long> scenarioStartNanos = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        if (identifier.isTest()) {
+            scenarioStartNanos.put(identifier.getUniqueId(), System.nanoTime());
+        }
+        if (isUnit(identifier)) {
+            startNanos.put(identifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        Long scenarioStart = scenarioStartNanos.remove(identifier.getUniqueId());
+        if (scenarioStart != null && identifier.getSource().orElse(null) instanceof MethodSource) {
+            MethodSource method = (MethodSource) identifier.getSource().get();
+            SuiteMetrics.record(SuiteMetrics.Category.SCENARIO,
+                method.getJavaClass().getSimpleName() + "." + method.getMethodName(), System.nanoTime() - scenarioStart);
+        }
+        Long start = startNanos.remove(identifier.getUniqueId());
+        if (start != null) {
+            String unit = ShardFilter.unitKey(identifier.getSource().get());
+            measured.merge(unit, (System.nanoTime() - start) / 1_000_000, Long::sum);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (!measured.isEmpty()) {
+            TestDurations.merge(TestDurations.defaultFile(), measured);
+            measured.clear();
+        }
+    }
+
+    // Unidad medible: clase con @TestMethodOrder, o prueba de una clase sin orden
+    private static boolean isUnit(TestIdentifier identifier) {
+        return identifier.getSource().map(source -> {
+            if (source instanceof MethodSource) {
+                return !ShardFilter.isOrdered((MethodSource) source);
+            }
+            if (source instanceof ClassSource) {
+                return ((ClassSource) source).getJavaClass().isAnnotationPresent(TestMethodOrder.class);
+            }
+            return false;
+        }).orElse(false);
+    }
+}
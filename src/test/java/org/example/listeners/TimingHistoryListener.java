@@ -0,0 +1,40 @@
+package org.example.listeners;
+
+import org.example.config.TestConfiguration;
+import org.example.history.RegressionDetector;
+import org.example.history.TimingRun;
+import org.example.history.TimingStore;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Guarda los tiempos de la ejecución en el histórico al cerrar la sesión de JUnit y avisa en el log del build
+ * de las series que se han vuelto significativamente más lentas respecto a las ejecuciones anteriores
+ */
+public class TimingHistoryListener implements LauncherSessionListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingHistoryListener.class);
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        TimingRun run = TimingRun.fromSuiteMetrics();
+        if (run.isEmpty()) {
+            return;
+        }
+        TimingStore store = TimingStore.fromConfiguration();
+        List<TimingRun> history = store.read(run.getEnvironment());
+        store.append(run);
+        List<TimingRun> baseline = RegressionDetector.baseline(history, run,
+            TestConfiguration.getTimingBaselineDays(), TestConfiguration.getTimingBaselineRuns());
+        if (baseline.isEmpty()) {
+            return;
+        }
+        for (RegressionDetector.Regression regression : RegressionDetector.fromConfiguration().compare(baseline, run)) {
+            LOGGER.warn("{}", regression);
+        }
+    }
+}
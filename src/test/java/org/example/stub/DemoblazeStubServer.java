@@ -0,0 +1,287 @@
+package org.example.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.config.TestConfiguration;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP local que imita Demoblaze: páginas (home, producto, carrito y modal de compra) y API REST
+ * El HTML respeta la estructura del DOM que usan los selectores de locators.properties,
+ * permite ejecutar la suite sin Internet y admite latencia inyectada para medir el sobrecoste propio de la suite
+ */
+public class DemoblazeStubServer {
+
+    private static final String CATALOG_RESOURCE = "stub/catalog.json";
+    private static final String PAGES_RESOURCE_DIR = "stub/";
+    private static final Json JSON = new Json();
+    // PNG de 1x1 píxel que sustituye a las imágenes de producto y carrusel
+    private static final byte[] PLACEHOLDER_IMAGE = Base64.getDecoder().decode(
+        "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+    private static DemoblazeStubServer sharedInstance;
+
+    private final int requestedPort;
+    private final List<Map<String, Object>> catalog;
+    private final Map<String, List<Map<String, Object>>> cartsByCookie = new ConcurrentHashMap<>();
+    private volatile long latencyMillis = TestConfiguration.getStubLatencyMillis();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public DemoblazeStubServer() {
+        this(0);
+    }
+
+    /**
+     * @param port puerto en el que escuchar; 0 para usar un puerto libre
+     */
+    public DemoblazeStubServer(int port) {
+        this.requestedPort = port;
+        this.catalog = loadCatalog();
+    }
+
+    public synchronized DemoblazeStubServer start() {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", requestedPort), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Error starting Demoblaze stub server: " + e.getMessage(), e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "demoblaze-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/entries", exchange -> handle(exchange, body -> entries()));
+        server.createContext("/bycat", exchange -> handle(exchange, this::byCategory));
+        server.createContext("/view", exchange -> handle(exchange, this::view));
+        server.createContext("/addtocart", exchange -> handle(exchange, this::addToCart));
+        server.createContext("/viewcart", exchange -> handle(exchange, this::viewCart));
+        server.createContext("/deleteitem", exchange -> handle(exchange, this::deleteItem));
+        server.createContext("/deletecart", exchange -> handle(exchange, this::deleteCart));
+        server.createContext("/imgs/", this::serveImage);
+        server.createContext("/", this::servePage);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Arranca (una sola vez por JVM) el servidor compartido por las pruebas y apunta base.url y api.url a él
+     * @return servidor compartido
+     */
+    public static synchronized DemoblazeStubServer startShared() {
+        if (sharedInstance == null) {
+            sharedInstance = new DemoblazeStubServer(TestConfiguration.getStubPort()).start();
+            System.setProperty("base.url", sharedInstance.getBaseUrl());
+            System.setProperty("api.url", sharedInstance.getBaseUrl());
+            Runtime.getRuntime().addShutdownHook(new Thread(sharedInstance::stop, "demoblaze-stub-shutdown"));
+        }
+        return sharedInstance;
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return URL base del servidor terminada en /, usable como api.url
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort() + "/";
+    }
+
+    /**
+     * Fija la latencia que se inyecta en cada petición (páginas, imágenes y API)
+     * @param latencyMillis milisegundos de espera antes de responder
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Vacía todos los carritos almacenados
+     */
+    public void reset() {
+        cartsByCookie.clear();
+    }
+
+    private Object entries() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("Items", catalog.subList(0, Math.min(9, catalog.size())));
+        if (catalog.size() > 9) {
+            response.put("LastEvaluatedKey", Map.of("id", String.valueOf(catalog.get(8).get("id"))));
+        }
+        return response;
+    }
+
+    private Object byCategory(Map<String, Object> body) {
+        String category = String.valueOf(body.get("cat"));
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Map<String, Object> product : catalog) {
+            if (category.equals(product.get("cat"))) {
+                items.add(product);
+            }
+        }
+        return Map.of("Items", items);
+    }
+
+    private Object view(Map<String, Object> body) {
+        Map<String, Object> product = findProduct(Integer.parseInt(String.valueOf(body.get("id"))));
+        return product != null ? product : Map.of();
+    }
+
+    private Object addToCart(Map<String, Object> body) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("cookie", String.valueOf(body.get("cookie")));
+        item.put("id", String.valueOf(body.get("id")));
+        item.put("prod_id", ((Number) body.get("prod_id")).intValue());
+        cartsByCookie.computeIfAbsent(String.valueOf(body.get("cookie")), key -> new CopyOnWriteArrayList<>()).add(item);
+        return "";
+    }
+
+    private Object viewCart(Map<String, Object> body) {
+        List<Map<String, Object>> items = cartsByCookie.getOrDefault(String.valueOf(body.get("cookie")), List.of());
+        return Map.of("Items", new ArrayList<>(items));
+    }
+
+    private Object deleteItem(Map<String, Object> body) {
+        String itemId = String.valueOf(body.get("id"));
+        for (List<Map<String, Object>> items : cartsByCookie.values()) {
+            items.removeIf(item -> itemId.equals(item.get("id")));
+        }
+        return "Item deleted.";
+    }
+
+    private Object deleteCart(Map<String, Object> body) {
+        cartsByCookie.remove(String.valueOf(body.get("cookie")));
+        return "Item deleted.";
+    }
+
+    private Map<String, Object> findProduct(int productId) {
+        for (Map<String, Object> product : catalog) {
+            if (((Number) product.get("id")).intValue() == productId) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    private void servePage(HttpExchange exchange) throws IOException {
+        try {
+            injectLatency();
+            String path = exchange.getRequestURI().getPath();
+            String resource = "/".equals(path) ? "index.html" : path.substring(1);
+            byte[] content = resource.contains("..") ? null : readResource(PAGES_RESOURCE_DIR + resource);
+            if (content == null) {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String contentType = resource.endsWith(".js") ? "application/javascript" : "text/html; charset=utf-8";
+            send(exchange, 200, contentType, content);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serveImage(HttpExchange exchange) throws IOException {
+        try {
+            injectLatency();
+            send(exchange, 200, "image/png", PLACEHOLDER_IMAGE);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void injectLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try {
+            injectLatency();
+            exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type");
+            if ("OPTIONS".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Map<String, Object> body = requestBody.isBlank() ? Map.of() : JSON.toType(requestBody, Json.MAP_TYPE);
+            Object result = endpoint.respond(body);
+            String json = JSON.toJson(result);
+            send(exchange, 200, "application/json", json.getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            send(exchange, 500, "application/json",
+                JSON.toJson(Map.of("errorMessage", String.valueOf(e.getMessage()))).getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] payload) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(payload);
+        }
+    }
+
+    private static byte[] readResource(String resource) throws IOException {
+        try (InputStream input = DemoblazeStubServer.class.getClassLoader().getResourceAsStream(resource)) {
+            return input == null ? null : input.readAllBytes();
+        }
+    }
+
+    private static List<Map<String, Object>> loadCatalog() {
+        try (InputStream input = DemoblazeStubServer.class.getClassLoader().getResourceAsStream(CATALOG_RESOURCE)) {
+            if (input == null) {
+                throw new RuntimeException("Unable to find " + CATALOG_RESOURCE);
+            }
+            String catalogJson = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            return JSON.toType(catalogJson, Json.LIST_OF_MAPS_TYPE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading stub catalog from " + CATALOG_RESOURCE, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Object respond(Map<String, Object> body);
+    }
+}
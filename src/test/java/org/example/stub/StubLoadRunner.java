@@ -0,0 +1,21 @@
+package org.example.stub;
+
+import org.example.load.LoadEngine;
+
+/**
+ * Ejecuta LoadEngine contra el Demoblaze local, que solo está en el classpath de pruebas
+ * mvn test-compile exec:java -Dexec.mainClass=org.example.stub.StubLoadRunner -Dexec.classpathScope=test
+ */
+public class StubLoadRunner {
+
+    public static void main(String[] args) {
+        // Apunta base.url y api.url al servidor local antes de leer el perfil
+        DemoblazeStubServer server = DemoblazeStubServer.startShared();
+        try {
+            LoadEngine.runFromConfiguration();
+        } finally {
+            // Los hilos del servidor no son daemon: sin pararlo la JVM no terminaría
+            server.stop();
+        }
+    }
+}
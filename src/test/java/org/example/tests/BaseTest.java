@@ -1,23 +1,61 @@
 package org.example.tests;
 
-import net.serenitybdd.annotations.Managed;
 import net.serenitybdd.junit5.SerenityJUnit5Extension;
+import org.example.config.TestConfiguration;
+import org.example.driver.BlockingProfile;
+import org.example.driver.DriverPool;
+import org.example.driver.LoadAllResources;
+import org.example.driver.NetworkBlocker;
+import org.example.screenshots.ScreenshotPipeline;
+import org.example.stub.DemoblazeStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
 
 /**
  * Clase base para todas las pruebas E2E
  * Centraliza la configuración del WebDriver para mejor mantenibilidad
+ * Cada hilo de JUnit obtiene su propio navegador del DriverPool, lo que permite ejecutar clases en paralelo
  */
 @ExtendWith(SerenityJUnit5Extension.class)
 public abstract class BaseTest {
     
-    @Managed(uniqueSession = true, driver = "chrome")
     protected WebDriver driver;
+
+    @BeforeAll
+    static void startLocalSiteIfRequested() {
+        // Con -Dstub.server=true las pruebas usan el Demoblaze local en lugar del sitio público
+        if (TestConfiguration.isStubServerEnabled()) {
+            DemoblazeStubServer.startShared();
+        }
+    }
+
+    @BeforeEach
+    void leaseDriver(TestInfo testInfo) {
+        driver = DriverPool.getInstance().lease();
+        // Las sesiones del pool se reutilizan, así que el bloqueo de red se fija en cada prueba
+        NetworkBlocker.apply(driver, loadsAllResources(testInfo) ? BlockingProfile.NONE : BlockingProfile.fromConfiguration());
+        // Las capturas de la prueba anterior no cuentan como duplicados de las de esta
+        ScreenshotPipeline.getInstance().startTest(driver);
+    }
+
+    @AfterAll
+    static void releaseDriver() {
+        // Devuelve el navegador del hilo al pool una vez terminada la clase (los @Order comparten sesión)
+        DriverPool.getInstance().release();
+    }
+    
+    private static boolean loadsAllResources(TestInfo testInfo) {
+        return testInfo.getTestMethod().map(method -> method.isAnnotationPresent(LoadAllResources.class)).orElse(false)
+            || testInfo.getTestClass().map(testClass -> testClass.isAnnotationPresent(LoadAllResources.class)).orElse(false);
+    }
     
     /**
      * Obtiene la instancia del WebDriver configurado
-     * @return WebDriver configurado con Chrome y sesión única
+     * @return WebDriver asignado al hilo actual por el DriverPool
      */
     protected WebDriver getDriver() {
         return driver;
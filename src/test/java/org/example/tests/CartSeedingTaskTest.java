@@ -0,0 +1,68 @@
+package org.example.tests;
+
+import org.example.api.DemoblazeApiClient;
+import org.example.stub.DemoblazeStubServer;
+import org.example.tasks.CartSeedingTask;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la preparación del carrito vía API contra el stub local (sin navegador ni Internet)
+ */
+public class CartSeedingTaskTest {
+
+    private static DemoblazeStubServer stubServer;
+    private CartSeedingTask cartSeedingTask;
+
+    @BeforeAll
+    static void startStub() {
+        stubServer = new DemoblazeStubServer().start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubServer.stop();
+    }
+
+    @BeforeEach
+    void setupTask() {
+        stubServer.reset();
+        cartSeedingTask = new CartSeedingTask(new DemoblazeApiClient(stubServer.getBaseUrl()), "test-session");
+    }
+
+    @Test
+    public void testSeedCartAddsAllProductsAndReturnsIdsInRequestOrder() {
+        // Las altas van en paralelo: el carrito no garantiza orden, pero cada id devuelto es el de su producto
+        List<String> itemIds = cartSeedingTask.seedCart(1, 2);
+
+        List<DemoblazeApiClient.CartItem> items = cartSeedingTask.getCartItems();
+        assertThat(items).hasSize(2);
+        Map<String, Integer> productByItemId = items.stream()
+            .collect(Collectors.toMap(DemoblazeApiClient.CartItem::getId, DemoblazeApiClient.CartItem::getProductId));
+        assertThat(itemIds.stream().map(productByItemId::get).collect(Collectors.toList())).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testRemoveItemAndClearCart() {
+        List<String> itemIds = cartSeedingTask.seedCart(1, 3, 5);
+
+        cartSeedingTask.removeItem(itemIds.get(0));
+        assertThat(cartSeedingTask.getCartItems()).hasSize(2);
+
+        cartSeedingTask.clearCart();
+        assertThat(cartSeedingTask.getCartItems()).isEmpty();
+    }
+
+    @Test
+    public void testCartsAreIsolatedBySessionCookie() {
+        cartSeedingTask.seedCart(1);
+        CartSeedingTask otherSession = new CartSeedingTask(new DemoblazeApiClient(stubServer.getBaseUrl()), "other-session");
+
+        assertThat(otherSession.getCartItems()).isEmpty();
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.tests;
+
+import org.example.session.BrowserCheckpoint;
+import org.example.session.CheckpointCache;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la caché de checkpoints (caducidad y desalojo) y de la restauración, con un driver simulado
+ */
+public class CheckpointCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private CheckpointCache cache;
+
+    @BeforeEach
+    void createCache() {
+        cache = new CheckpointCache(Duration.ofSeconds(60), 2, clock::get);
+    }
+
+    @Test
+    public void testCheckpointExpiresAfterTtl() {
+        cache.put(checkpoint("cart-with-two-phones"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertThat(cache.get("cart-with-two-phones")).isNotNull();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(cache.get("cart-with-two-phones")).isNull();
+        assertThat(cache.getExpirations()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedCheckpointIsEvicted() {
+        cache.put(checkpoint("home"));
+        cache.put(checkpoint("cart-with-one-phone"));
+        // Al consultarlo, "home" pasa a ser el más reciente
+        assertThat(cache.get("home")).isNotNull();
+
+        cache.put(checkpoint("cart-with-two-phones"));
+
+        assertThat(cache.get("cart-with-one-phone")).isNull();
+        assertThat(cache.get("home")).isNotNull();
+        assertThat(cache.get("cart-with-two-phones")).isNotNull();
+        assertThat(cache.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRestoreSeedsOwnCartUnderFreshCookieBeforeReloading() {
+        List<String> calls = new ArrayList<>();
+        WebDriver driver = recordingDriver(calls);
+        cache.put(checkpoint("cart-with-two-phones"));
+
+        List<String> seededCookies = new ArrayList<>();
+        cache.get("cart-with-two-phones").restore(driver, cookie -> {
+            seededCookies.add(cookie);
+            calls.add("seed " + cookie);
+        });
+
+        assertThat(seededCookies).hasSize(1).doesNotContain("6b0d1f3e-session");
+        String cartCookie = seededCookies.get(0);
+        // La cookie nueva se fija antes de sembrar y la URL se recarga al final, con el carrito ya sembrado
+        assertThat(calls).containsSubsequence("deleteAllCookies", "addCookie user=" + cartCookie,
+            "seed " + cartCookie, "get https://www.demoblaze.com/cart.html");
+        assertThat(calls).doesNotContain("addCookie user=6b0d1f3e-session");
+        assertThat(calls.get(calls.size() - 1)).isEqualTo("get https://www.demoblaze.com/cart.html");
+    }
+
+    @Test
+    public void testEachRestoreGetsItsOwnCart() {
+        BrowserCheckpoint checkpoint = checkpoint("cart-with-two-phones");
+        List<String> seededCookies = new ArrayList<>();
+
+        checkpoint.restore(recordingDriver(new ArrayList<>()), seededCookies::add);
+        checkpoint.restore(recordingDriver(new ArrayList<>()), seededCookies::add);
+
+        assertThat(seededCookies).hasSize(2).doesNotHaveDuplicates();
+        assertThat(checkpoint.getCartProductIds()).containsExactly(1, 2);
+    }
+
+    // Driver que anota cada llamada: la sesión ya está en el sitio del checkpoint
+    private static WebDriver recordingDriver(List<String> calls) {
+        WebDriver.Options options = SeleniumFakes.fake(WebDriver.Options.class)
+            .on("deleteAllCookies", args -> calls.add("deleteAllCookies"))
+            .on("addCookie", args -> {
+                Cookie cookie = (Cookie) args[0];
+                return calls.add("addCookie " + cookie.getName() + "=" + cookie.getValue());
+            })
+            .build();
+        return SeleniumFakes.fake(WebDriver.class, JavascriptExecutor.class)
+            .returning("getCurrentUrl", "https://www.demoblaze.com/index.html")
+            .returning("manage", options)
+            .on("get", args -> calls.add("get " + args[0]))
+            .on("executeScript", args -> {
+                calls.add("executeScript");
+                return null;
+            })
+            .build();
+    }
+
+    private static BrowserCheckpoint checkpoint(String name) {
+        return new BrowserCheckpoint(name, "https://www.demoblaze.com/cart.html",
+            List.of(new Cookie("user", "6b0d1f3e-session")), Map.of("theme", "light"), Map.of(), List.of(1, 2));
+    }
+}
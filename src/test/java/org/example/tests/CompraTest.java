@@ -1,5 +1,6 @@
 package org.example.tests;
 
+import org.example.metrics.TimedSteps;
 import org.example.tasks.NavigationTask;
 import org.example.tasks.ProductSelectionTask;
 import org.example.tasks.CartValidationTask;
@@ -19,12 +20,12 @@ public class CompraTest extends BaseTest {
 
     @BeforeEach
     void setupTest() {
-        // Inicializar tareas para cada prueba (el driver permanece igual)
+        // Inicializar tareas ligadas al driver del hilo actual (el driver permanece igual), con sus @Step cronometrados
         if (navigationTask == null) {
-            navigationTask = new NavigationTask();
-            productSelectionTask = new ProductSelectionTask();
-            cartValidationTask = new CartValidationTask();
-            checkoutTask = new CheckoutTask();
+            navigationTask = TimedSteps.create(NavigationTask.class, getDriver());
+            productSelectionTask = TimedSteps.create(ProductSelectionTask.class, getDriver());
+            cartValidationTask = TimedSteps.create(CartValidationTask.class, getDriver());
+            checkoutTask = TimedSteps.create(CheckoutTask.class, getDriver());
         }
     }
 
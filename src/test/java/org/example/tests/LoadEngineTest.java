@@ -0,0 +1,64 @@
+package org.example.tests;
+
+import org.example.api.DemoblazeApiClient;
+import org.example.load.LoadEngine;
+import org.example.load.LoadProfile;
+import org.example.load.LoadReport;
+import org.example.stub.DemoblazeStubServer;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del motor de carga sin navegador contra el stub local del API
+ */
+public class LoadEngineTest {
+
+    private static DemoblazeStubServer stubServer;
+
+    @BeforeAll
+    static void startStub() {
+        stubServer = new DemoblazeStubServer().start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubServer.stop();
+    }
+
+    @Test
+    public void testJourneyReplaysEveryEndpointPerUser() {
+        stubServer.setLatencyMillis(20);
+        LoadEngine engine = new LoadEngine(new DemoblazeApiClient(stubServer.getBaseUrl()));
+
+        LoadReport report = engine.run(new LoadProfile(20, Duration.ofMillis(500), Duration.ofMillis(1500)));
+
+        assertThat(report.getFailedJourneys()).isZero();
+        assertThat(report.getCompletedJourneys()).isGreaterThan(5);
+        long journeys = report.getCompletedJourneys();
+        assertThat(report.getEndpointStats("entries").getCalls()).isEqualTo(journeys);
+        assertThat(report.getEndpointStats("view").getCalls()).isEqualTo(2 * journeys);
+        assertThat(report.getEndpointStats("addtocart").getCalls()).isEqualTo(2 * journeys);
+        assertThat(report.getEndpointStats("deletecart").getCalls()).isEqualTo(journeys);
+        assertThat(report.getAllEndpointStats().keySet())
+            .containsExactly("entries", "bycat", "view", "addtocart", "viewcart", "deletecart");
+        // La latencia inyectada en el stub tiene que verse en los percentiles
+        assertThat(report.getEndpointStats("viewcart").getP50Millis()).isGreaterThanOrEqualTo(19.0);
+        assertThat(report.getEndpointStats("bycat").getThroughputPerSecond()).isGreaterThan(0.0);
+    }
+
+    @Test
+    public void testFailedEndpointMarksJourneyAsFailed() {
+        stubServer.setLatencyMillis(0);
+        // Sin servidor escuchando todas las llamadas fallan y ningún recorrido se completa
+        LoadEngine engine = new LoadEngine(new DemoblazeApiClient("http://localhost:1/"));
+
+        LoadReport report = engine.run(new LoadProfile(10, Duration.ZERO, Duration.ofMillis(300)));
+
+        assertThat(report.getCompletedJourneys()).isZero();
+        assertThat(report.getFailedJourneys()).isGreaterThan(0);
+        assertThat(report.getEndpointStats("entries").getErrors()).isEqualTo(report.getFailedJourneys());
+    }
+}
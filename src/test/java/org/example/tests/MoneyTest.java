@@ -0,0 +1,63 @@
+package org.example.tests;
+
+import org.example.pages.CartSnapshot;
+import org.example.utils.Money;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas del parser de importes y de los totales exactos del carrito, sin navegador
+ */
+public class MoneyTest {
+
+    @Test
+    public void testParsesDemoblazePriceFormats() {
+        assertThat(Money.parseMinorUnits("$360 *includes tax")).isEqualTo(36000);
+        assertThat(Money.parseMinorUnits("790")).isEqualTo(79000);
+        assertThat(Money.parseMinorUnits("Amount: 790 USD")).isEqualTo(79000);
+        assertThat(Money.parseMinorUnits("$1,250.5")).isEqualTo(125050);
+        assertThat(Money.parseMinorUnits("-$12.999")).isEqualTo(-1299);
+        assertThatThrownBy(() -> Money.parseMinorUnits("*includes tax")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    public void testAmountIsReadAfterLabelInMultiLineConfirmation() {
+        String confirmation = "Id: 9140731\nAmount: 790 USD\nCard Number: 4111111111111111\nName: María";
+
+        assertThat(Money.parseMinorUnitsAfter(confirmation, "Amount:")).isEqualTo(79000);
+        assertThat(Money.format(79000)).isEqualTo("790");
+        assertThat(Money.format(125050)).isEqualTo("1250.50");
+    }
+
+    @Test
+    public void testLargeCartTotalIsExact() {
+        List<CartSnapshot.Row> rows = new ArrayList<>();
+        long expected = 0;
+        for (int i = 0; i < 5000; i++) {
+            // Precios con céntimos que en double acumulan error de redondeo
+            rows.add(new CartSnapshot.Row("Product " + i, "0.1" + (i % 10), String.valueOf(i)));
+            expected += 10 + i % 10;
+        }
+        CartSnapshot snapshot = new CartSnapshot(rows, Money.format(expected));
+
+        assertThat(snapshot.getPricesSumMinorUnits()).isEqualTo(expected);
+        assertThat(snapshot.isTotalCorrect()).isTrue();
+    }
+
+    @Test
+    public void testMissingTotalFailsClearly() {
+        // Foto tomada antes de que la página calculara el total
+        CartSnapshot snapshot = new CartSnapshot(List.of(new CartSnapshot.Row("Samsung galaxy s6", "360", "a1")), "");
+
+        assertThat(snapshot.hasTotal()).isFalse();
+        assertThat(snapshot.isTotalCorrect()).isFalse();
+        assertThatThrownBy(snapshot::getTotalMinorUnits)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Cart total is not displayed");
+    }
+}
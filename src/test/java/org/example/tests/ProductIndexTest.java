@@ -0,0 +1,98 @@
+package org.example.tests;
+
+import org.example.pages.HomePage;
+import org.example.pages.ProductIndex;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del índice del listado de productos y de su validez por generación del documento, con un driver simulado
+ */
+public class ProductIndexTest {
+
+    private final AtomicReference<String> generation = new AtomicReference<>();
+    private final AtomicReference<List<Map<String, Object>>> listing = new AtomicReference<>();
+    private final AtomicInteger indexReads = new AtomicInteger();
+    private WebDriver driver;
+
+    @BeforeEach
+    void createDriver() {
+        WebElement link = SeleniumFakes.fake(WebElement.class).build();
+        // El script del índice devuelve el listado que fija la prueba; el resto de scripts, la marca de generación
+        driver = SeleniumFakes.fake(WebDriver.class, JavascriptExecutor.class)
+            .on("executeScript", args -> {
+                if (args[0].toString().contains("querySelectorAll")) {
+                    indexReads.incrementAndGet();
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("generation", generation.get());
+                    result.put("items", listing.get());
+                    return result;
+                }
+                return generation.get();
+            })
+            .returning("findElements", List.of(link))
+            .build();
+    }
+
+    @Test
+    public void testEntriesAreLookedUpByNameInListingOrder() {
+        ProductIndex index = new ProductIndex(List.of(
+            new ProductIndex.Entry("Samsung galaxy s6", "1", "https://www.demoblaze.com/prod.html?idp_=1", "$360", null),
+            new ProductIndex.Entry("Nokia lumia 1520", "2", "https://www.demoblaze.com/prod.html?idp_=2", "$820", null),
+            new ProductIndex.Entry("Samsung galaxy s6", "9", "https://www.demoblaze.com/prod.html?idp_=9", "$999", null)),
+            "https://www.demoblaze.com/#token:2");
+
+        assertThat(index.getProductNames()).containsExactly("Samsung galaxy s6", "Nokia lumia 1520", "Samsung galaxy s6");
+        assertThat(index.find("Samsung galaxy s6").getId()).isEqualTo("1");
+        assertThat(index.find("Sony vaio i5")).isNull();
+        assertThat(index.isCurrent("https://www.demoblaze.com/#token:2")).isTrue();
+        assertThat(index.isCurrent("https://www.demoblaze.com/#token:3")).isFalse();
+        assertThat(index.isCurrent(null)).isFalse();
+        assertThat(new ProductIndex(List.of()).isCurrent(null)).isFalse();
+    }
+
+    @Test
+    public void testIndexIsReusedOnlyWhileTheGenerationIsUnchanged() {
+        HomePage homePage = new HomePage(driver);
+        generation.set("https://www.demoblaze.com/#token:2");
+        listing.set(List.of(item("Samsung galaxy s6", "1", "$360")));
+
+        assertThat(homePage.getFirstProductName()).isEqualTo("Samsung galaxy s6");
+        assertThat(homePage.getFirstProductName()).isEqualTo("Samsung galaxy s6");
+        assertThat(indexReads.get()).isEqualTo(1);
+
+        // La petición de la categoría Laptops cambia la marca: el índice anterior ya no vale
+        generation.set("https://www.demoblaze.com/#token:3");
+        listing.set(List.of(item("Sony vaio i5", "8", "$790")));
+
+        assertThat(homePage.getFirstProductName()).isEqualTo("Sony vaio i5");
+        assertThat(indexReads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testListingReadWhileRequestsArePendingIsNotReused() {
+        HomePage homePage = new HomePage(driver);
+        // Marca nula: peticiones en curso o documento saliente
+        generation.set(null);
+        listing.set(List.of(item("Samsung galaxy s6", "1", "$360")));
+
+        homePage.getFirstProductName();
+        homePage.getFirstProductName();
+
+        assertThat(indexReads.get()).isEqualTo(2);
+    }
+
+    private static Map<String, Object> item(String name, String id, String price) {
+        return Map.of("name", name, "id", id, "href", "https://www.demoblaze.com/prod.html?idp_=" + id, "price", price);
+    }
+}
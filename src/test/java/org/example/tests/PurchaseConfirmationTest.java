@@ -0,0 +1,37 @@
+package org.example.tests;
+
+import org.example.pages.PurchaseConfirmation;
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la lectura del modal de confirmación de compra, sin navegador
+ */
+public class PurchaseConfirmationTest {
+
+    @Test
+    public void testMultiLineMessageIsSplitIntoFields() {
+        PurchaseConfirmation confirmation = new PurchaseConfirmation("Thank you for your purchase!",
+            "Id: 9140731\nAmount: 790 USD\nCard Number: 4111111111111111\nName: María Elena Rodríguez\nDate: 18/10/2026");
+
+        assertThat(confirmation.isThankYouDisplayed()).isTrue();
+        assertThat(confirmation.getTransactionId()).isEqualTo("9140731");
+        assertThat(confirmation.getAmountText()).isEqualTo("790 USD");
+        assertThat(confirmation.getAmountMinorUnits()).isEqualTo(79000);
+        assertThat(confirmation.getCard()).isEqualTo("4111111111111111");
+        assertThat(confirmation.getName()).isEqualTo("María Elena Rodríguez");
+        assertThat(confirmation.getDate()).isEqualTo("18/10/2026");
+    }
+
+    @Test
+    public void testSingleLineMessageAndMissingFields() {
+        PurchaseConfirmation confirmation = new PurchaseConfirmation("Thank you for your purchase!",
+            "Id: 9140731 Amount: 790 USD");
+
+        assertThat(confirmation.getTransactionId()).isEqualTo("9140731");
+        assertThat(confirmation.getAmountMinorUnits()).isEqualTo(79000);
+        assertThat(confirmation.getName()).isEmpty();
+        assertThat(new PurchaseConfirmation("Error", "").hasTransactionId()).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.tests;
+
+import org.example.pages.ReadinessCache;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la memorización de esperas por generación del documento, con un driver simulado
+ */
+public class ReadinessCacheTest {
+
+    private final AtomicReference<String> generation = new AtomicReference<>();
+    private final AtomicInteger waits = new AtomicInteger();
+    private WebDriver driver;
+
+    @BeforeEach
+    void createDriver() {
+        // Cada executeScript devuelve la marca de generación que fija la prueba
+        driver = SeleniumFakes.fake(WebDriver.class, JavascriptExecutor.class)
+            .on("executeScript", args -> generation.get())
+            .build();
+    }
+
+    @Test
+    public void testRepeatedWaitOnSameGenerationIsSkipped() {
+        generation.set("https://www.demoblaze.com/cart.html#token:3");
+
+        ReadinessCache.await(driver, "CartPage readiness", waits::incrementAndGet);
+        ReadinessCache.await(driver, "CartPage readiness", waits::incrementAndGet);
+        ReadinessCache.await(driver, "CartPage readiness", waits::incrementAndGet);
+
+        assertThat(waits.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRequestOrNavigationInvalidatesTheMarker() {
+        generation.set("https://www.demoblaze.com/cart.html#token:3");
+        ReadinessCache.await(driver, "CartPage readiness", waits::incrementAndGet);
+
+        // Una petición XHR más desde la última espera
+        generation.set("https://www.demoblaze.com/cart.html#token:4");
+        ReadinessCache.await(driver, "CartPage readiness", waits::incrementAndGet);
+
+        // Documento saliente: no se memoriza
+        generation.set(null);
+        ReadinessCache.await(driver, "CartPage readiness", waits::incrementAndGet);
+        ReadinessCache.await(driver, "CartPage readiness", waits::incrementAndGet);
+
+        assertThat(waits.get()).isEqualTo(4);
+    }
+}
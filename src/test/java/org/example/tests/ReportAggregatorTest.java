@@ -0,0 +1,105 @@
+package org.example.tests;
+
+import org.example.reports.OutcomeReader;
+import org.example.reports.ReportAggregator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la lectura en streaming de resultados de Serenity y del informe incremental
+ */
+public class ReportAggregatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testOutcomeIsReadAndUnknownFieldsAreSkipped() throws IOException {
+        Path file = outcome("compra-cart.json", "testCartValidation", "FAILURE", 1520);
+        Files.write(directory.resolve("summary.json"), "[{\"name\":\"not an outcome\"}]".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("no-result.json"), "{\"name\":\"draft\",\"duration\":3}".getBytes(StandardCharsets.UTF_8));
+
+        OutcomeReader.Outcome outcome = OutcomeReader.read(file);
+
+        assertThat(outcome.getTitle()).isEqualTo("testCartValidation");
+        assertThat(outcome.getStory()).isEqualTo("Compra");
+        assertThat(outcome.getResult()).isEqualTo("FAILURE");
+        assertThat(outcome.getDurationMillis()).isEqualTo(1520);
+        assertThat(outcome.getFailureMessage()).isEqualTo("expected 2 but was 1");
+        assertThat(outcome.getSteps()).hasSize(1);
+        assertThat(outcome.getSteps().get(0).getDescription()).isEqualTo("Navigate to cart");
+        assertThat(outcome.getSteps().get(0).getChildren()).extracting(OutcomeReader.Step::getDescription)
+            .containsExactly("Open cart page");
+        assertThat(OutcomeReader.read(directory.resolve("summary.json"))).isNull();
+        assertThat(OutcomeReader.read(directory.resolve("no-result.json"))).isNull();
+    }
+
+    @Test
+    public void testOnlyChangedOutcomesAreRenderedAgain() throws IOException {
+        outcome("a.json", "testHomepageValidation", "SUCCESS", 800);
+        outcome("b.json", "testCartValidation", "FAILURE", 1520);
+        outcome("c.json", "testPurchaseCompletion", "SUCCESS", 2100);
+        Path output = directory.resolve("report");
+
+        ReportAggregator.AggregationResult first = aggregator(output).aggregate();
+        assertThat(first.getOutcomes()).isEqualTo(3);
+        assertThat(first.getRendered()).isEqualTo(3);
+        String index = Files.readString(output.resolve(ReportAggregator.INDEX_FILE));
+        // Lo que falló va primero
+        assertThat(index.indexOf("testCartValidation")).isLessThan(index.indexOf("testHomepageValidation"));
+
+        // Serenity reescribe un resultado (con otro tamaño: la huella es tamaño y fecha) y otro desaparece
+        outcome("b.json", "testCartValidation", "SUCCESS", 14900);
+        Files.delete(directory.resolve("c.json"));
+        ReportAggregator.AggregationResult second = aggregator(output).aggregate();
+
+        assertThat(second.getOutcomes()).isEqualTo(2);
+        assertThat(second.getRendered()).isEqualTo(1);
+        assertThat(second.getReused()).isEqualTo(1);
+        assertThat(second.getRemoved()).isEqualTo(1);
+        assertThat(output.resolve("outcomes").resolve("c.html")).doesNotExist();
+        assertThat(Files.readAllLines(output.resolve(ReportAggregator.MANIFEST_FILE))).hasSize(2);
+    }
+
+    @Test
+    public void testThreeThousandOutcomesAreAggregatedAndThenReused() throws IOException {
+        for (int i = 0; i < 3000; i++) {
+            outcome(String.format("outcome-%04d.json", i), "test" + i, i % 100 == 0 ? "FAILURE" : "SUCCESS", i);
+        }
+        Path output = directory.resolve("report");
+
+        ReportAggregator.AggregationResult first = aggregator(output).aggregate();
+        ReportAggregator.AggregationResult second = aggregator(output).aggregate();
+
+        assertThat(first.getOutcomes()).isEqualTo(3000);
+        assertThat(first.getRendered()).isEqualTo(3000);
+        try (Stream<Path> pages = Files.list(output.resolve("outcomes"))) {
+            assertThat(pages.count()).isEqualTo(3000);
+        }
+        assertThat(Files.readString(output.resolve(ReportAggregator.INDEX_FILE))).contains("FAILURE: 30", "SUCCESS: 2970");
+        assertThat(second.getRendered()).isZero();
+        assertThat(second.getReused()).isEqualTo(3000);
+    }
+
+    private ReportAggregator aggregator(Path output) {
+        return new ReportAggregator(directory, output, 4, true);
+    }
+
+    private Path outcome(String fileName, String name, String result, long duration) throws IOException {
+        String json = "{\"name\":\"" + name + "\",\"methodName\":\"" + name + "\",\"userStory\":{\"id\":\"compra\","
+            + "\"storyName\":\"Compra\",\"path\":\"org.example.tests\"},\"tags\":[{\"name\":\"smoke\"}],\"result\":\"" + result
+            + "\",\"duration\":" + duration + ",\"testFailureMessage\":\"expected 2 but was 1\",\"testSteps\":[{\"number\":1,"
+            + "\"description\":\"Navigate to cart\",\"result\":\"" + result + "\",\"duration\":" + duration + ",\"children\":"
+            + "[{\"description\":\"Open cart page\",\"result\":\"SUCCESS\",\"duration\":40,\"screenshots\":[]}]}]}";
+        return Files.write(directory.resolve(fileName), List.of(json), StandardCharsets.UTF_8);
+    }
+}
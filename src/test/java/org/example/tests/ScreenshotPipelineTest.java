@@ -0,0 +1,150 @@
+package org.example.tests;
+
+import org.example.screenshots.ScreenshotPipeline;
+import org.example.screenshots.ScreenshotPolicy;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas del pipeline de capturas (dHash, duplicados, política y backpressure), con un driver simulado
+ */
+public class ScreenshotPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicReference<byte[]> screen = new AtomicReference<>();
+    private WebDriver driver;
+
+    @BeforeEach
+    void createDriver() {
+        // getScreenshotAs devuelve el PNG que fija la prueba
+        driver = SeleniumFakes.fake(WebDriver.class, TakesScreenshot.class)
+            .on("getScreenshotAs", args -> screen.get())
+            .build();
+    }
+
+    @Test
+    public void testDifferenceHashIgnoresSmallChangesAndSeparatesDifferentScreens() {
+        BufferedImage page = gradient(false);
+        BufferedImage sameWithCursor = gradient(false);
+        sameWithCursor.setRGB(100, 60, 0xFFFFFF);
+        BufferedImage otherPage = gradient(true);
+
+        long hash = ScreenshotPipeline.differenceHash(page);
+
+        assertThat(Long.bitCount(hash ^ ScreenshotPipeline.differenceHash(sameWithCursor))).isLessThanOrEqualTo(2);
+        assertThat(Long.bitCount(hash ^ ScreenshotPipeline.differenceHash(otherPage))).isGreaterThan(32);
+    }
+
+    @Test
+    public void testDuplicatesAreSkippedWithinATestButNotAcrossTests() throws IOException {
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(ScreenshotPolicy.STEP, directory, 4, Runnable::run);
+        screen.set(png(gradient(false)));
+
+        pipeline.capture(driver, "open-cart");
+        pipeline.capture(driver, "read-cart");
+        // La sesión del pool pasa a la siguiente prueba, que empieza en la misma pantalla
+        pipeline.startTest(driver);
+        pipeline.capture(driver, "open-cart");
+        pipeline.flush();
+
+        assertThat(pipeline.getCaptured()).isEqualTo(3);
+        assertThat(pipeline.getDuplicates()).isEqualTo(1);
+        assertThat(pipeline.getWritten()).isEqualTo(2);
+        assertThat(files()).containsExactly("000001-open-cart.jpg", "000003-open-cart.jpg");
+    }
+
+    @Test
+    public void testPolicyIsParsedIgnoringCaseAndRejectsUnknownNames() {
+        assertThat(ScreenshotPolicy.parse(" Task ")).isEqualTo(ScreenshotPolicy.TASK);
+        assertThat(ScreenshotPolicy.parse("failures").capturesStep(true)).isFalse();
+        assertThat(ScreenshotPolicy.TASK.capturesStep(true)).isTrue();
+        assertThat(ScreenshotPolicy.TASK.capturesStep(false)).isFalse();
+        assertThat(ScreenshotPolicy.STEP.capturesStep(false)).isTrue();
+        assertThatThrownBy(() -> ScreenshotPolicy.parse("always"))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Unknown screenshot policy: always");
+    }
+
+    @Test
+    public void testCaptureWaitsWhileTooManyArePending() throws Exception {
+        // Los trabajos de escritura quedan en cola hasta que la prueba los ejecuta
+        Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(ScreenshotPolicy.STEP, directory, 1, queued::add);
+        screen.set(png(gradient(false)));
+
+        pipeline.capture(driver, "first");
+        Thread second = new Thread(() -> pipeline.capture(driver, "second"));
+        second.start();
+        waitUntilBlocked(second);
+
+        assertThat(pipeline.getCaptured()).isEqualTo(1);
+        assertThat(pipeline.getPending()).isEqualTo(1);
+
+        runAll(queued);
+        second.join(5000);
+        runAll(queued);
+
+        assertThat(second.isAlive()).isFalse();
+        assertThat(pipeline.getCaptured()).isEqualTo(2);
+        assertThat(pipeline.getPending()).isZero();
+    }
+
+    private static void waitUntilBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static void runAll(Queue<Runnable> queued) {
+        Runnable task;
+        while ((task = queued.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    // Degradado horizontal: más claro hacia la derecha, o hacia la izquierda si reversed
+    private static BufferedImage gradient(boolean reversed) {
+        BufferedImage image = new BufferedImage(360, 240, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            int level = 255 * (reversed ? image.getWidth() - 1 - x : x) / (image.getWidth() - 1);
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, level << 16 | level << 8 | level);
+            }
+        }
+        return image;
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
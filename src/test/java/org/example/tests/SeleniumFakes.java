@@ -0,0 +1,79 @@
+package org.example.tests;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dobles de WebDriver, WebElement y demás interfaces de Selenium para pruebas sin navegador
+ * Solo responden a los métodos que declara la prueba; cualquier otro lanza UnsupportedOperationException, así que
+ * una llamada nueva del código probado se nota en lugar de devolver null en silencio. equals, hashCode y toString
+ * funcionan por identidad (los dobles se usan como clave en mapas débiles)
+ */
+public final class SeleniumFakes {
+
+    private SeleniumFakes() {
+    }
+
+    /**
+     * Empieza un doble de la interfaz indicada
+     * @param type interfaz principal, la del valor devuelto
+     * @param extraInterfaces otras interfaces que implementa el doble (JavascriptExecutor, TakesScreenshot...)
+     * @return constructor del doble
+     */
+    public static <T> Builder<T> fake(Class<T> type, Class<?>... extraInterfaces) {
+        return new Builder<>(type, extraInterfaces);
+    }
+
+    // Respuesta a una llamada con sus argumentos (vacío si no tiene)
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    public static class Builder<T> {
+        private final Class<T> type;
+        private final Class<?>[] interfaces;
+        private final Map<String, Answer> answers = new HashMap<>();
+
+        private Builder(Class<T> type, Class<?>[] extraInterfaces) {
+            this.type = type;
+            this.interfaces = new Class<?>[extraInterfaces.length + 1];
+            this.interfaces[0] = type;
+            System.arraycopy(extraInterfaces, 0, this.interfaces, 1, extraInterfaces.length);
+        }
+
+        /**
+         * Responde a todas las sobrecargas de un método
+         * @param methodName nombre del método
+         * @param answer respuesta calculada en cada llamada
+         * @return este constructor
+         */
+        public Builder<T> on(String methodName, Answer answer) {
+            answers.put(methodName, answer);
+            return this;
+        }
+
+        public Builder<T> returning(String methodName, Object value) {
+            return on(methodName, args -> value);
+        }
+
+        public T build() {
+            Object fake = Proxy.newProxyInstance(SeleniumFakes.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+                Answer answer = answers.get(method.getName());
+                if (answer != null) {
+                    return answer.answer(args == null ? new Object[0] : args);
+                }
+                switch (method.getName()) {
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    case "toString": return "Fake" + type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                    default:
+                        throw new UnsupportedOperationException("Fake " + type.getSimpleName() + " does not answer "
+                            + method.getDeclaringClass().getSimpleName() + "." + method.getName());
+                }
+            });
+            return type.cast(fake);
+        }
+    }
+}
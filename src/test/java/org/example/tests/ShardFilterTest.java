@@ -0,0 +1,79 @@
+package org.example.tests;
+
+import org.example.config.TestConfiguration;
+import org.example.listeners.ShardFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de las unidades de reparto de ShardFilter y de la validación de shard.index/shard.count
+ */
+public class ShardFilterTest {
+
+    // Clases de ejemplo sin @Test: solo sirven como origen de los descriptores
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    static class OrderedFlow {
+        void first() {
+        }
+
+        void second() {
+        }
+    }
+
+    static class IndependentChecks {
+        void first() {
+        }
+    }
+
+    @AfterEach
+    void clearShardProperties() {
+        System.clearProperty(TestConfiguration.Sharding.INDEX_PROPERTY);
+        System.clearProperty(TestConfiguration.Sharding.COUNT_PROPERTY);
+    }
+
+    @Test
+    public void testOrderedClassIsOneUnit() {
+        MethodSource first = MethodSource.from(OrderedFlow.class.getName(), "first");
+        MethodSource second = MethodSource.from(OrderedFlow.class.getName(), "second");
+
+        assertThat(ShardFilter.isOrdered(first)).isTrue();
+        assertThat(ShardFilter.unitKey(first)).isEqualTo(OrderedFlow.class.getName());
+        assertThat(ShardFilter.unitKey(second)).isEqualTo(ShardFilter.unitKey(first));
+        assertThat(ShardFilter.unitKey(ClassSource.from(OrderedFlow.class))).isEqualTo(OrderedFlow.class.getName());
+    }
+
+    @Test
+    public void testMethodsOfUnorderedClassAreKeyedClassHashMethod() {
+        MethodSource method = MethodSource.from(IndependentChecks.class.getName(), "first");
+
+        assertThat(ShardFilter.isOrdered(method)).isFalse();
+        assertThat(ShardFilter.unitKey(method)).isEqualTo(IndependentChecks.class.getName() + "#first");
+    }
+
+    @Test
+    public void testShardIndexOutsideShardCountIsRejected() {
+        System.setProperty(TestConfiguration.Sharding.COUNT_PROPERTY, "3");
+        System.setProperty(TestConfiguration.Sharding.INDEX_PROPERTY, "2");
+        assertThat(TestConfiguration.getShardIndex()).isEqualTo(2);
+
+        System.setProperty(TestConfiguration.Sharding.INDEX_PROPERTY, "3");
+        assertThatThrownBy(TestConfiguration::getShardIndex)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("shard.index must be between 0 and 2");
+
+        System.setProperty(TestConfiguration.Sharding.INDEX_PROPERTY, "-1");
+        assertThatThrownBy(TestConfiguration::getShardIndex).isInstanceOf(IllegalStateException.class);
+
+        System.setProperty(TestConfiguration.Sharding.COUNT_PROPERTY, "0");
+        assertThatThrownBy(TestConfiguration::getShardCount)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("shard.count must be at least 1");
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.tests;
+
+import org.example.sharding.ShardPlanner;
+import org.example.sharding.TestDurations;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del reparto de la suite entre shards
+ */
+public class ShardPlannerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testKnownDurationsAreBalancedLongestFirst() {
+        Map<String, Long> durations = Map.of("A", 90_000L, "B", 60_000L, "C", 50_000L, "D", 40_000L, "E", 10_000L);
+
+        Map<String, Integer> plan = ShardPlanner.plan(durations.keySet(), durations, 2);
+
+        // LPT: A al shard 0, B al 1, C al 1 (110s), D al 0 (130s), E al 1 (120s)
+        long[] loads = new long[2];
+        plan.forEach((unit, shard) -> loads[shard] += durations.get(unit));
+        assertThat(Math.abs(loads[0] - loads[1])).isLessThanOrEqualTo(30_000L);
+        assertThat(plan.get("A")).isNotEqualTo(plan.get("B"));
+    }
+
+    @Test
+    public void testUnknownUnitsCountAsMedianDuration() {
+        Map<String, Long> durations = Map.of("A", 100L, "B", 100L, "C", 100L);
+
+        Map<String, Integer> plan = ShardPlanner.plan(List.of("A", "B", "C", "New"), durations, 2);
+
+        assertThat(plan).hasSize(4);
+        assertThat(plan.values().stream().filter(shard -> shard == 0).count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testWithoutHistoryPlanIsStableHashSplit() {
+        List<String> units = List.of("org.example.tests.CompraTest", "org.example.tests.StepRetryTest#testA",
+            "org.example.tests.StepRetryTest#testB", "org.example.tests.LoadEngineTest#testC");
+
+        Map<String, Integer> plan = ShardPlanner.plan(units, Map.of(), 3);
+
+        for (String unit : units) {
+            assertThat(plan.get(unit)).isEqualTo(ShardPlanner.hashShard(unit, 3)).isBetween(0, 2);
+        }
+        assertThat(ShardPlanner.plan(List.of(units.get(3), units.get(0), units.get(2), units.get(1)), Map.of(), 3)).isEqualTo(plan);
+    }
+
+    @Test
+    public void testMergeKeepsOtherUnitsAndSnapshotStaysFixed() throws Exception {
+        Path file = directory.resolve("test-durations.properties");
+        TestDurations.merge(file, Map.of("org.example.tests.CompraTest", 90_000L, "A#b", 10L));
+        Map<String, Long> snapshot = TestDurations.snapshot(file);
+
+        // Otro shard termina y fusiona sus unidades mientras esta JVM sigue ejecutando
+        TestDurations.merge(file, Map.of("A#b", 20L, "C#d", 30L));
+
+        assertThat(TestDurations.load(file)).containsEntry("org.example.tests.CompraTest", 90_000L)
+            .containsEntry("A#b", 20L).containsEntry("C#d", 30L);
+        assertThat(TestDurations.snapshot(file)).isSameAs(snapshot).doesNotContainKey("C#d").containsEntry("A#b", 10L);
+        try (Stream<Path> files = Files.list(directory)) {
+            // Solo el fichero y su .lock: el temporal se renombró sobre el fichero
+            assertThat(files.map(path -> path.getFileName().toString()))
+                .containsExactlyInAnyOrder("test-durations.properties", "test-durations.properties.lock");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.tests;
+
+import net.serenitybdd.annotations.Step;
+import org.example.config.TestConfiguration;
+import org.example.metrics.TimedSteps;
+import org.example.retry.RetryableStep;
+import org.example.retry.StepRetry;
+import org.example.utils.WaitEngine;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas del reintento de pasos idempotentes, sin navegador
+ */
+public class StepRetryTest {
+
+    @BeforeEach
+    void resetRetries() {
+        System.setProperty(TestConfiguration.StepRetry.BUDGET_PROPERTY, "3");
+        StepRetry.reset();
+    }
+
+    @AfterAll
+    static void restoreBudget() {
+        System.clearProperty(TestConfiguration.StepRetry.BUDGET_PROPERTY);
+        StepRetry.reset();
+    }
+
+    @Test
+    public void testTransientErrorIsRetriedAndReported() {
+        FlakySteps steps = TimedSteps.create(FlakySteps.class, null);
+        steps.failuresLeft = 1;
+
+        assertThat(steps.readCart()).isEqualTo("cart");
+
+        assertThat(steps.calls).isEqualTo(2);
+        assertThat(StepRetry.getRemainingBudget()).isEqualTo(2);
+        StepRetry.RetryStats stats = StepRetry.getStatistics().get("FlakySteps.readCart");
+        assertThat(stats.getRetries()).isEqualTo(1);
+        assertThat(stats.getRecovered()).isEqualTo(1);
+        assertThat(stats.getErrors()).containsEntry("StaleElementReferenceException", 1L);
+    }
+
+    @Test
+    public void testAssertionFailureIsNotRetried() {
+        FlakySteps steps = TimedSteps.create(FlakySteps.class, null);
+
+        assertThatThrownBy(steps::assertCart).isInstanceOf(AssertionError.class);
+
+        assertThat(steps.calls).isEqualTo(1);
+        assertThat(StepRetry.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testStepsWithoutAnnotationAreNotRetried() {
+        FlakySteps steps = TimedSteps.create(FlakySteps.class, null);
+        steps.failuresLeft = 1;
+
+        assertThatThrownBy(steps::addToCart).isInstanceOf(RuntimeException.class);
+
+        assertThat(steps.calls).isEqualTo(1);
+    }
+
+    @Test
+    public void testRetriesStopWhenBudgetIsSpent() {
+        FlakySteps steps = TimedSteps.create(FlakySteps.class, null);
+        steps.failuresLeft = 10;
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(steps::readCart).hasRootCauseInstanceOf(StaleElementReferenceException.class);
+        }
+
+        // Tres reintentos de presupuesto: tres pasos con dos intentos y uno sin reintento
+        assertThat(steps.calls).isEqualTo(7);
+        assertThat(StepRetry.getRemainingBudget()).isZero();
+        assertThat(StepRetry.getStatistics().get("FlakySteps.readCart").getExhausted()).isEqualTo(3);
+    }
+
+    @Test
+    public void testWaitThatUsedItsFullTimeoutIsNotRetried() {
+        FlakySteps steps = TimedSteps.create(FlakySteps.class, null);
+
+        assertThatThrownBy(steps::readTotal).hasRootCauseInstanceOf(StaleElementReferenceException.class)
+            .isInstanceOf(TimeoutException.class);
+
+        assertThat(steps.calls).isEqualTo(1);
+        assertThat(StepRetry.getRemainingBudget()).isEqualTo(3);
+        assertThat(StepRetry.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testNestedRetryableStepIsRetriedOnlyByTheOuterStep() {
+        FlakySteps steps = TimedSteps.create(FlakySteps.class, null);
+        steps.failuresLeft = 1;
+
+        assertThat(steps.readCartAndTotal()).isEqualTo("cart");
+
+        // Un reintento del paso externo, que vuelve a llamar al interno; el interno no se reintenta por su cuenta
+        assertThat(steps.calls).isEqualTo(2);
+        assertThat(StepRetry.getRemainingBudget()).isEqualTo(2);
+        assertThat(StepRetry.getStatistics()).containsOnlyKeys("FlakySteps.readCartAndTotal");
+    }
+
+    // Tarea de prueba: ByteBuddy necesita que sea pública para generar la subclase
+    public static class FlakySteps {
+        int failuresLeft;
+        int calls;
+
+        public FlakySteps(WebDriver driver) {
+        }
+
+        @Step("Read cart")
+        @RetryableStep
+        public String readCart() {
+            calls++;
+            if (failuresLeft-- > 0) {
+                // Las páginas envuelven el error de Selenium conservando la causa
+                throw new RuntimeException("Error reading cart",
+                    new StaleElementReferenceException("stale element reference"));
+            }
+            return "cart";
+        }
+
+        @Step("Read total")
+        @RetryableStep
+        public String readTotal() {
+            calls++;
+            // La espera sondeó hasta su timeout viendo solo filas obsoletas
+            return WaitEngine.forDriver(null).withTimeout(Duration.ofMillis(30)).until(driver -> {
+                throw new StaleElementReferenceException("stale element reference");
+            }, "FlakySteps total displayed");
+        }
+
+        @Step("Read cart and total")
+        @RetryableStep
+        public String readCartAndTotal() {
+            return readCart();
+        }
+
+        @Step("Assert cart")
+        @RetryableStep
+        public void assertCart() {
+            calls++;
+            throw new AssertionError("expected 2 items but found 1");
+        }
+
+        @Step("Add to cart")
+        public void addToCart() {
+            calls++;
+            if (failuresLeft-- > 0) {
+                throw new StaleElementReferenceException("stale element reference");
+            }
+        }
+    }
+}
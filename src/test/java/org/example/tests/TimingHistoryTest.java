@@ -0,0 +1,161 @@
+package org.example.tests;
+
+import org.example.history.RegressionDetector;
+import org.example.history.TimingRun;
+import org.example.history.TimingStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del histórico de tiempos y de la detección de regresiones
+ */
+public class TimingHistoryTest {
+
+    private static final String HOMEPAGE_LOAD = "page:HomePage.waitForHomepageFullyLoaded";
+    private static final String CART_STEP = "step:CartValidationTask.getProductCount";
+    private static final String SCENARIO = "scenario:CompraTest.testPurchaseCompletion";
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRunsRoundTripAndTruncatedTailIsIgnored() throws IOException {
+        TimingStore store = new TimingStore(directory.resolve("timings.bin"));
+        store.append(run(1_000, "abc123", "stub/ci", 1.0, 1));
+        store.append(run(2_000, "def456", "public/local", 1.0, 2));
+        store.append(run(3_000, "def456", "stub/ci", 1.0, 3));
+        // Ejecución interrumpida mientras escribía su bloque
+        Files.write(store.getFile(), new byte[] {0x54, 0x4D, 0x52, 0x31, 0, 0, 1}, StandardOpenOption.APPEND);
+
+        List<TimingRun> runs = store.read("stub/ci");
+
+        assertThat(runs).hasSize(2);
+        assertThat(runs.get(0).getCommit()).isEqualTo("abc123");
+        assertThat(runs.get(1).getEpochMillis()).isEqualTo(3_000);
+        assertThat(runs.get(1).getSeries().get(HOMEPAGE_LOAD)).isEqualTo(run(3_000, "def456", "stub/ci", 1.0, 3).getSeries().get(HOMEPAGE_LOAD));
+        assertThat(store.read(null)).hasSize(3);
+    }
+
+    @Test
+    public void testRunAppendedAfterTruncatedBlockIsReadBack() throws IOException {
+        TimingStore store = new TimingStore(directory.resolve("timings.bin"));
+        store.append(run(1_000, "abc123", "stub/ci", 1.0, 1));
+        // Ejecución interrumpida a mitad de bloque y, después, una ejecución normal
+        Files.write(store.getFile(), new byte[] {0x54, 0x4D, 0x52, 0x31, 0, 0, 1}, StandardOpenOption.APPEND);
+        store.append(run(2_000, "def456", "stub/ci", 1.0, 2));
+
+        List<TimingRun> runs = store.read("stub/ci");
+
+        assertThat(runs).extracting(TimingRun::getCommit).containsExactly("abc123", "def456");
+        assertThat(runs.get(1).getSeries().get(CART_STEP)).isEqualTo(run(2_000, "def456", "stub/ci", 1.0, 2).getSeries().get(CART_STEP));
+    }
+
+    @Test
+    public void testRunsAfterCorruptedBlockAreKeptWhenAppending() throws IOException {
+        TimingStore store = new TimingStore(directory.resolve("timings.bin"));
+        store.append(run(1_000, "abc123", "stub/ci", 1.0, 1));
+        long secondStart = Files.size(store.getFile());
+        store.append(run(2_000, "def456", "stub/ci", 1.0, 2));
+        store.append(run(3_000, "ghi789", "stub/ci", 1.0, 3));
+        // Un byte dañado dentro del contenido del segundo bloque
+        byte[] bytes = Files.readAllBytes(store.getFile());
+        bytes[(int) secondStart + 20] ^= 0x55;
+        Files.write(store.getFile(), bytes);
+
+        store.append(run(4_000, "jkl012", "stub/ci", 1.0, 4));
+
+        assertThat(store.read(null)).extracting(TimingRun::getCommit).containsExactly("abc123", "ghi789", "jkl012");
+    }
+
+    @Test
+    public void testConcurrentAppendsFromSeparateStoresAreAllKept() throws Exception {
+        Path file = directory.resolve("timings.bin");
+        List<Thread> writers = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            int id = writer;
+            // Cada hilo con su propio TimingStore, como harían ejecuciones en paralelo
+            writers.add(new Thread(() -> {
+                TimingStore store = new TimingStore(file);
+                for (int i = 0; i < 10; i++) {
+                    store.append(run(i, "w" + id + "-" + i, "stub/ci", 1.0, i));
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join(30_000);
+        }
+
+        assertThat(new TimingStore(file).read(null)).hasSize(40);
+    }
+
+    @Test
+    public void testSignificantP95SlowdownIsFlagged() {
+        List<TimingRun> baseline = List.of(run(0, "a", "env", 1.0, 1), run(DAY, "b", "env", 1.0, 2));
+        TimingRun slower = run(8 * DAY, "c", "env", 1.4, 3);
+
+        List<RegressionDetector.Regression> regressions = new RegressionDetector(0.2, 0.01, 5).compare(baseline, slower);
+
+        assertThat(regressions).extracting(RegressionDetector.Regression::getSeries).containsExactly(HOMEPAGE_LOAD);
+        assertThat(regressions.get(0).getP95Change()).isGreaterThan(0.3);
+    }
+
+    @Test
+    public void testSustainedScenarioSlowdownIsFlaggedAcrossRuns() {
+        // Un escenario deja una sola muestra por ejecución: diez ejecuciones a ~20 s y las cinco últimas a ~30 s
+        List<TimingRun> history = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 15; i++) {
+            long micros = (long) ((i < 10 ? 20_000_000 : 30_000_000) + random.nextGaussian() * 500_000);
+            history.add(new TimingRun(i * DAY, "c" + i, "env", Map.of(SCENARIO, new long[] {micros})));
+        }
+        TimingRun candidate = history.get(14);
+        RegressionDetector detector = new RegressionDetector(0.2, 0.01, 5);
+
+        assertThat(detector.compare(RegressionDetector.baseline(history, candidate, 0, 14), candidate))
+            .extracting(RegressionDetector.Regression::getSeries).containsExactly(SCENARIO);
+        // Con solo la última ejecución lenta no hay evidencia suficiente
+        assertThat(detector.compare(RegressionDetector.baseline(history, history.get(10), 0, 10), history.get(10))).isEmpty();
+    }
+
+    @Test
+    public void testNoiseWithinThresholdIsNotFlagged() {
+        List<TimingRun> baseline = List.of(run(0, "a", "env", 1.0, 1), run(DAY, "b", "env", 1.0, 2));
+
+        assertThat(new RegressionDetector(0.2, 0.01, 5).compare(baseline, run(2 * DAY, "c", "env", 1.0, 3))).isEmpty();
+    }
+
+    @Test
+    public void testBaselineHonoursMinimumAge() {
+        TimingRun old = run(0, "a", "env", 1.0, 1);
+        TimingRun recent = run(6 * DAY, "b", "env", 1.0, 2);
+        TimingRun candidate = run(8 * DAY, "c", "env", 1.0, 3);
+
+        assertThat(RegressionDetector.baseline(List.of(old, recent, candidate), candidate, 7, 10)).containsExactly(old);
+        assertThat(RegressionDetector.baseline(List.of(old, recent, candidate), candidate, 0, 1)).containsExactly(recent);
+    }
+
+    // Carga de la página de inicio ~800 ms (escalada por homepageFactor) y un paso del carrito estable en ~50 ms
+    private static TimingRun run(long epochMillis, String commit, String environment, double homepageFactor, long seed) {
+        Random random = new Random(seed);
+        long[] homepage = new long[60];
+        long[] cart = new long[60];
+        for (int i = 0; i < homepage.length; i++) {
+            homepage[i] = (long) ((800_000 + random.nextGaussian() * 40_000) * homepageFactor);
+            cart[i] = (long) (50_000 + random.nextGaussian() * 5_000);
+        }
+        return new TimingRun(epochMillis, commit, environment, Map.of(HOMEPAGE_LOAD, homepage, CART_STEP, cart));
+    }
+}
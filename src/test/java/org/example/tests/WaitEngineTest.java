@@ -0,0 +1,122 @@
+package org.example.tests;
+
+import org.example.config.TestConfiguration;
+import org.example.utils.WaitEngine;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas del sondeo, el backoff y el timeout del WaitEngine y de los nombres con los que agrupa sus estadísticas,
+ * sin navegador
+ */
+public class WaitEngineTest {
+
+    @Test
+    public void testElementConditionsAreNamedWithoutSessionOrElementIdentity() {
+        String first = WaitEngine.describe(ExpectedConditions.visibilityOf(element("5f1c0a2b3c4d5e6f7a8b9c0d1e2f3a4b")));
+        String second = WaitEngine.describe(ExpectedConditions.visibilityOf(element("0123456789abcdef0123456789abcdef")));
+
+        assertThat(first).isEqualTo(second).isEqualTo("visibility of id: name");
+    }
+
+    @Test
+    public void testLocatorAndLambdaConditionsHaveStableNames() {
+        ExpectedCondition<Boolean> lambda = driver -> true;
+
+        assertThat(WaitEngine.describe(ExpectedConditions.visibilityOfElementLocated(By.id("name"))))
+            .isEqualTo("visibility of element located by By.id: name");
+        assertThat(WaitEngine.describe(lambda)).isEqualTo("WaitEngineTest condition");
+    }
+
+    @Test
+    public void testPollingBacksOffUntilTheConditionHolds() {
+        List<Long> polls = new ArrayList<>();
+        long start = System.nanoTime();
+
+        String value = WaitEngine.forDriver(null).until(driver -> {
+            polls.add(System.nanoTime());
+            return polls.size() == 6 ? "ready" : null;
+        }, "WaitEngineTest sixth poll");
+
+        assertThat(value).isEqualTo("ready");
+        assertThat(polls).hasSize(6);
+        // Pausas de 10, 15, 22, 33 y 49 ms: cada una mayor que la anterior
+        assertThat(polls.get(5) - start).isGreaterThanOrEqualTo(Duration.ofMillis(129).toNanos());
+        assertThat(polls.get(5) - polls.get(4)).isGreaterThan(polls.get(1) - polls.get(0));
+        assertThat(WaitEngine.getStatistics().get("WaitEngineTest sixth poll").getTimeouts()).isZero();
+    }
+
+    @Test
+    public void testTimeoutKeepsTheLastIgnoredExceptionAndIsRecorded() {
+        AtomicInteger polls = new AtomicInteger();
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> WaitEngine.forDriver(null).withTimeout(Duration.ofMillis(300)).until(driver -> {
+            polls.incrementAndGet();
+            throw new NoSuchElementException("no cart row");
+        }, "WaitEngineTest missing row"))
+            .isInstanceOf(TimeoutException.class)
+            .hasMessageContaining("waiting for WaitEngineTest missing row (tried for 300 ms")
+            .hasCauseInstanceOf(NoSuchElementException.class);
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(300).toNanos());
+        // Con el intervalo limitado a 100 ms, 300 ms dan para unos pocos intentos, no para un sondeo continuo
+        assertThat(polls.get()).isBetween(3, 10);
+        assertThat(WaitEngine.getStatistics().get("WaitEngineTest missing row").getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStaleElementIsRetriedButOtherErrorsFailAtOnce() {
+        AtomicInteger polls = new AtomicInteger();
+
+        Boolean ready = WaitEngine.forDriver(null).until(driver -> {
+            if (polls.incrementAndGet() == 1) {
+                throw new StaleElementReferenceException("cart re-rendered");
+            }
+            return true;
+        }, "WaitEngineTest stale row");
+
+        assertThat(ready).isTrue();
+        assertThat(polls.get()).isEqualTo(2);
+
+        polls.set(0);
+        assertThatThrownBy(() -> WaitEngine.forDriver(null).until(driver -> {
+            polls.incrementAndGet();
+            throw new WebDriverException("session deleted");
+        }, "WaitEngineTest broken session"))
+            .isInstanceOf(WebDriverException.class)
+            .isNotInstanceOf(TimeoutException.class);
+        assertThat(polls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testOperationTimeoutsComeFromConfiguration() {
+        assertThat(WaitEngine.forOperation(null, "short").getTimeout())
+            .isEqualTo(Duration.ofSeconds(TestConfiguration.Timeouts.SHORT_WAIT));
+        assertThat(WaitEngine.forOperation(null, "EXTENDED").getTimeout())
+            .isEqualTo(Duration.ofSeconds(TestConfiguration.Timeouts.EXTENDED_WAIT));
+        assertThat(WaitEngine.forDriver(null).getTimeout()).isEqualTo(Duration.ofSeconds(TestConfiguration.Timeouts.DEFAULT_WAIT));
+    }
+
+    // Elemento cuyo toString imita el de Selenium: sesión del driver y localizador con el que se encontró
+    private static WebElement element(String sessionId) {
+        return SeleniumFakes.fake(WebElement.class)
+            .returning("toString", "[[ChromeDriver: chrome on linux (" + sessionId + ")] -> id: name]")
+            .build();
+    }
+}
@@ -0,0 +1,136 @@
+// Réplica mínima del comportamiento de demoblaze.com para el servidor local
+var API_URL = "";
+
+function guid() {
+    return "xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx".replace(/[xy]/g, function (c) {
+        var r = Math.random() * 16 | 0;
+        return (c === "x" ? r : (r & 0x3 | 0x8)).toString(16);
+    });
+}
+
+function getCookie(name) {
+    var parts = document.cookie.split(";");
+    for (var i = 0; i < parts.length; i++) {
+        var pair = parts[i].trim().split("=");
+        if (pair[0] === name) {
+            return pair.slice(1).join("=");
+        }
+    }
+    return "";
+}
+
+if (getCookie("user") === "") {
+    document.cookie = "user=" + guid() + "; path=/";
+}
+
+function post(endpoint, body) {
+    return fetch(API_URL + "/" + endpoint, {
+        method: "POST",
+        headers: {"Content-Type": "application/json"},
+        body: JSON.stringify(body)
+    }).then(function (response) { return response.json(); });
+}
+
+function renderCards(items) {
+    var html = "";
+    items.forEach(function (item) {
+        html += '<div class="col-lg-4 col-md-6 mb-4"><div class="card h-100">'
+            + '<a href="prod.html?idp_=' + item.id + '"><img class="card-img-top img-fluid" src="' + item.img + '" alt=""></a>'
+            + '<div class="card-block"><h4 class="card-title"><a href="prod.html?idp_=' + item.id + '" class="hrefch">' + item.title + '</a></h4>'
+            + '<h5>$' + item.price + '</h5><p class="card-text" id="article">' + item.desc + '</p></div></div></div>';
+    });
+    document.getElementById("tbodyid").innerHTML = html;
+}
+
+function loadEntries() {
+    fetch(API_URL + "/entries").then(function (r) { return r.json(); })
+        .then(function (data) { renderCards(data.Items); });
+}
+
+function byCat(cat) {
+    post("bycat", {cat: cat}).then(function (data) { renderCards(data.Items); });
+}
+
+function loadProduct() {
+    var id = new URLSearchParams(window.location.search).get("idp_");
+    post("view", {id: id}).then(function (item) {
+        document.getElementById("imgp").innerHTML =
+            '<div class="item active"><img src="' + item.img + '" width="400" height="400"></div>';
+        document.getElementById("tbodyid").innerHTML =
+            '<h2 class="name">' + item.title + '</h2>'
+            + '<h3 class="price-container">$' + item.price + ' <small>*includes tax</small></h3><hr>'
+            + '<div id="more-information"><strong>Product description</strong><p>' + item.desc + '</p></div>'
+            + '<div class="row"><div class="col-sm-12 col-md-6 col-lg-6">'
+            + '<a href="#" onclick="addToCart(' + item.id + ')" class="btn btn-success btn-lg">Add to cart</a></div></div>';
+    });
+}
+
+function addToCart(id) {
+    post("addtocart", {id: guid(), cookie: getCookie("user"), prod_id: id, flag: false})
+        .then(function () { alert("Product added."); });
+}
+
+function showCart() {
+    post("viewcart", {cookie: getCookie("user"), flag: false}).then(function (data) {
+        var items = data.Items;
+        var rows = new Array(items.length);
+        var total = 0;
+        var pending = items.length;
+        if (pending === 0) {
+            document.getElementById("tbodyid").innerHTML = "";
+            document.getElementById("totalp").innerHTML = "";
+            return;
+        }
+        items.forEach(function (entry, index) {
+            post("view", {id: entry.prod_id}).then(function (item) {
+                total += item.price;
+                rows[index] = '<tr class="success"><td><img width="100" height="100" src="' + item.img + '"></td>'
+                    + '<td>' + item.title + '</td><td>' + item.price + '</td>'
+                    + '<td><a href="#" onclick="deleteItem(\'' + entry.id + '\')">Delete</a></td></tr>';
+                pending--;
+                if (pending === 0) {
+                    document.getElementById("tbodyid").innerHTML = rows.join("");
+                    document.getElementById("totalp").innerHTML = String(total);
+                }
+            });
+        });
+    });
+}
+
+function deleteItem(id) {
+    post("deleteitem", {id: id}).then(function () { showCart(); });
+}
+
+function openOrderModal() {
+    document.getElementById("orderModal").style.display = "block";
+}
+
+function closeOrderModal() {
+    document.getElementById("orderModal").style.display = "none";
+}
+
+function purchaseOrder() {
+    var name = document.getElementById("name").value;
+    var card = document.getElementById("card").value;
+    if (name === "" || card === "") {
+        alert("Please fill out Name and Creditcard.");
+        return;
+    }
+    var amount = document.getElementById("totalp").innerHTML || "0";
+    var now = new Date();
+    post("deletecart", {cookie: getCookie("user")}).then(function () {
+        closeOrderModal();
+        var alertBox = document.getElementById("purchaseAlert");
+        alertBox.querySelector("p").innerHTML = "Id: " + Math.floor(Math.random() * 9000000 + 1000000)
+            + "<br>Amount: " + amount + " USD"
+            + "<br>Card Number: " + card
+            + "<br>Name: " + name
+            + "<br>Date: " + now.getDate() + "/" + (now.getMonth() + 1) + "/" + now.getFullYear();
+        alertBox.style.display = "block";
+    });
+}
+
+function closePurchaseAlert() {
+    document.getElementById("purchaseAlert").style.display = "none";
+    window.location.href = "index.html";
+}